@@ -0,0 +1,44 @@
+package com.campus.event.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executors for work that must not run on the HTTP request thread.
+ */
+@Configuration
+public class AsyncConfig {
+
+    /** Broadcast / announcement fan-out: few long-running, database-bound jobs. */
+    @Bean(name = "notificationFanoutExecutor")
+    public ThreadPoolTaskExecutor notificationFanoutExecutor(
+            @Value("${app.notifications.fanout.threads:2}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("fanout-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /** Email / SMS delivery from the notification outbox: blocking network calls, bounded. */
+    @Bean(name = "notificationSenderExecutor")
+    public ThreadPoolTaskExecutor notificationSenderExecutor(
+            @Value("${app.notifications.outbox.threads:4}") int threads,
+            @Value("${app.notifications.outbox.maxInFlight:50}") int maxInFlight) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(maxInFlight);
+        executor.setThreadNamePrefix("notify-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
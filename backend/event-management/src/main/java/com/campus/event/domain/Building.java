@@ -13,6 +13,7 @@ import java.util.List;
 @Getter
 @Setter
 @Entity
+@EntityListeners(com.campus.event.web.PublicCacheInvalidationListener.class)
 @Table(name = "buildings")
 public class Building {
     @Id
@@ -16,6 +16,7 @@ import java.time.LocalTime;
 @Setter
 @NoArgsConstructor
 @Entity
+@EntityListeners(com.campus.event.service.BuildingHoursListener.class)
 @Table(name = "building_timetable")
 public class BuildingTimetable {
 
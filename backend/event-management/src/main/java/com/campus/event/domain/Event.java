@@ -13,6 +13,8 @@ import java.time.LocalDateTime;
 @Setter
 @NoArgsConstructor
 @Entity
+@EntityListeners({com.campus.event.service.RoomOccupancyListener.class,
+        com.campus.event.web.PublicCacheInvalidationListener.class})
 @Table(name = "events")
 public class Event {
     @Id
@@ -52,6 +54,10 @@ public class Event {
 
     private Integer maxAttendees;
 
+    // High-demand mode: registrations go through the admission queue and overflow is waitlisted
+    @Column(name = "flash_sale", nullable = false)
+    private boolean flashSale;
+
     @Column(columnDefinition = "TEXT")
     private String registrationSchema; // JSON array of field keys
 
@@ -85,6 +91,8 @@ public class Event {
     public void setClubId(String clubId) { this.clubId = clubId; }
     public Integer getMaxAttendees() { return maxAttendees; }
     public void setMaxAttendees(Integer maxAttendees) { this.maxAttendees = maxAttendees; }
+    public boolean isFlashSale() { return flashSale; }
+    public void setFlashSale(boolean flashSale) { this.flashSale = flashSale; }
     public String getRegistrationSchema() { return registrationSchema; }
     public void setRegistrationSchema(String registrationSchema) { this.registrationSchema = registrationSchema; }
     public EventTimingModel getTimingModel() { return timingModel; }
@@ -0,0 +1,23 @@
+package com.campus.event.domain;
+
+import jakarta.persistence.*;
+
+/**
+ * Number of seats taken for one event. Registrations reserve a seat with a conditional
+ * {@code UPDATE ... WHERE taken < max}, so concurrent registrations can never oversell.
+ */
+@Entity
+@Table(name = "event_seat_counters")
+public class EventSeatCounter {
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(nullable = false)
+    private int taken;
+
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+    public int getTaken() { return taken; }
+    public void setTaken(int taken) { this.taken = taken; }
+}
@@ -11,6 +11,7 @@ import java.time.LocalTime;
 @Getter
 @Setter
 @Entity
+@EntityListeners(com.campus.event.service.RoomOccupancyListener.class)
 @Table(name = "fixed_timetable")
 public class FixedTimetable {
     @Id
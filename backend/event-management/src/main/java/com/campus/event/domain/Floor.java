@@ -12,6 +12,7 @@ import java.util.List;
 @Getter
 @Setter
 @Entity
+@EntityListeners(com.campus.event.web.PublicCacheInvalidationListener.class)
 @Table(name = "floors")
 public class Floor {
     @Id
@@ -28,6 +28,13 @@ public class Notification {
     private LocalDateTime createdAt = LocalDateTime.now();
     private LocalDateTime sentAt;
 
+    // Outbox bookkeeping for EMAIL / SMS rows
+    @Column(nullable = false)
+    private int attempts = 0;
+    private LocalDateTime nextAttemptAt;
+    @Column(length = 500)
+    private String lastError;
+
     public Long getId() { return id; }
     public User getUser() { return user; }
     public void setUser(User user) { this.user = user; }
@@ -43,4 +50,10 @@ public class Notification {
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public LocalDateTime getSentAt() { return sentAt; }
     public void setSentAt(LocalDateTime sentAt) { this.sentAt = sentAt; }
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
 }
@@ -4,7 +4,8 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notification_deliveries")
+@Table(name = "notification_deliveries",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "notification_id"}))
 public class NotificationDelivery {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -33,6 +33,13 @@ public class NotificationMessage {
 
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Broadcast fan-out progress; see BroadcastFanoutService
+    @Column(name = "fanout_target_user_id")
+    private Long fanoutTargetUserId;
+
+    @Column(name = "fanout_cursor_user_id")
+    private Long fanoutCursorUserId;
+
     public Long getId() { return id; }
     public String getTitle() { return title; }
     public void setTitle(String title) { this.title = title; }
@@ -50,4 +57,6 @@ public class NotificationMessage {
     public void setEvent(Event event) { this.event = event; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public Long getFanoutTargetUserId() { return fanoutTargetUserId; }
+    public Long getFanoutCursorUserId() { return fanoutCursorUserId; }
 }
@@ -2,6 +2,7 @@ package com.campus.event.domain;
 
 public enum NotificationStatus {
     PENDING,
+    SENDING,
     SENT,
     FAILED
 }
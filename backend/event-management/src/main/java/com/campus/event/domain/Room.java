@@ -8,6 +8,7 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
+@EntityListeners(com.campus.event.web.PublicCacheInvalidationListener.class)
 @Table(name = "rooms")
 public class Room {
     @Id
@@ -7,6 +7,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(com.campus.event.service.RoomOccupancyListener.class)
 @Table(name = "room_booking_requests")
 public class RoomBookingRequest {
     @Id
@@ -50,6 +51,18 @@ public class RoomBookingRequest {
     private LocalDateTime meetingEnd;
     private String meetingPurpose;
 
+    /**
+     * Occupied window materialized from the event (or meeting) times so overlap checks can run
+     * on an index. Kept in sync on persist/update; event reschedules update it in bulk via
+     * {@code RoomBookingRequestRepository.syncEffectiveWindowForEvent}. For multi-day events it
+     * spans the whole event, so the room is also held between the event's daily slots.
+     */
+    @Column(name = "effective_start")
+    private LocalDateTime effectiveStart;
+
+    @Column(name = "effective_end")
+    private LocalDateTime effectiveEnd;
+
     /**
      * When preferences mix LARGE_HALL and NORMAL_ROOM, multiple requests share this id
      * (see {@link com.campus.event.service.RoomApprovalRules}).
@@ -57,6 +70,17 @@ public class RoomBookingRequest {
     @Column(name = "split_group_id")
     private UUID splitGroupId;
 
+    /** Optimistic lock; concurrent approvals of the same request fail instead of blocking. */
+    @Version
+    private Long version;
+
+    @PrePersist
+    @PreUpdate
+    void syncEffectiveWindow() {
+        effectiveStart = event != null && event.getStartTime() != null ? event.getStartTime() : meetingStart;
+        effectiveEnd = event != null && event.getEndTime() != null ? event.getEndTime() : meetingEnd;
+    }
+
     // Helper methods for schedule management
     public java.time.LocalDate getDate() {
         if (event != null && event.getStartTime() != null) {
@@ -117,6 +141,9 @@ public class RoomBookingRequest {
     public void setMeetingEnd(LocalDateTime meetingEnd) { this.meetingEnd = meetingEnd; }
     public String getMeetingPurpose() { return meetingPurpose; }
     public void setMeetingPurpose(String meetingPurpose) { this.meetingPurpose = meetingPurpose; }
+    public LocalDateTime getEffectiveStart() { return effectiveStart; }
+    public LocalDateTime getEffectiveEnd() { return effectiveEnd; }
+    public Long getVersion() { return version; }
     public UUID getSplitGroupId() { return splitGroupId; }
     public void setSplitGroupId(UUID splitGroupId) { this.splitGroupId = splitGroupId; }
 }
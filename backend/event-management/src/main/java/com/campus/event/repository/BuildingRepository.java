@@ -10,6 +10,15 @@ import java.util.Optional;
 @Repository
 public interface BuildingRepository extends JpaRepository<Building, Long> {
     List<Building> findByIsActiveTrue();
+
+    interface BuildingSummary {
+        Long getId();
+        String getName();
+        String getCode();
+        String getDescription();
+    }
+
+    List<BuildingSummary> findSummariesByIsActiveTrue();
     Optional<Building> findByCode(String code);
     boolean existsByCode(String code);
 }
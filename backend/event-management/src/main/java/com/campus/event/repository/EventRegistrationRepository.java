@@ -8,11 +8,38 @@ import java.util.List;
 
 public interface EventRegistrationRepository extends JpaRepository<EventRegistration, Long> {
     boolean existsByEvent_IdAndUser_Username(Long eventId, String username);
+    boolean existsByEvent_IdAndUser_Id(Long eventId, Long userId);
+    java.util.Optional<EventRegistration> findByEvent_IdAndUser_Username(Long eventId, String username);
+    java.util.Optional<EventRegistration> findByEvent_IdAndUser_Id(Long eventId, Long userId);
+
+    @Query("select r.user.id from EventRegistration r where r.event.id = ?1 and r.user.id in ?2")
+    List<Long> findRegisteredUserIds(Long eventId, java.util.Collection<Long> userIds);
     List<EventRegistration> findByEvent_Id(Long eventId);
     List<EventRegistration> findByUser_Username(String username);
 
-    @Query("select r from EventRegistration r join fetch r.event where r.user.username = ?1")
-    List<EventRegistration> findByUserUsernameWithEvent(String username);
+    interface MyRegistrationRow {
+        Long getId();
+        Long getEventId();
+        String getTitle();
+        java.time.LocalDateTime getStartTime();
+        java.time.LocalDateTime getEndTime();
+        String getLocation();
+        java.time.LocalDateTime getRegisteredAt();
+    }
+
+    @Query("select r.id as id, e.id as eventId, e.title as title, e.startTime as startTime, e.endTime as endTime, " +
+            "e.location as location, r.registeredAt as registeredAt " +
+            "from EventRegistration r left join r.event e where r.user.username = ?1")
+    List<MyRegistrationRow> findMyRegistrationRows(String username);
+
+    interface EventCount {
+        Long getEventId();
+        Long getRegistrations();
+    }
+
+    @Query("select r.event.id as eventId, count(r) as registrations from EventRegistration r where r.event.id in ?1 group by r.event.id")
+    List<EventCount> countByEventIds(java.util.Collection<Long> eventIds);
+
     @Query("select r.user.username from EventRegistration r where r.event.id = ?1")
     List<String> findUsernamesByEventId(Long eventId);
     void deleteByEvent_Id(Long eventId);
@@ -7,10 +7,114 @@ import java.util.List;
 
 public interface EventRepository extends JpaRepository<Event, Long> {
     List<Event> findByIsPublicTrue();
+
+    /** One row of the public event listing, with its registration count. */
+    interface PublicEventRow {
+        Long getId();
+        String getTitle();
+        String getDescription();
+        java.time.LocalDateTime getStartTime();
+        java.time.LocalDateTime getEndTime();
+        String getLocation();
+        String getClubId();
+        String getRegistrationSchema();
+        Boolean getIsPublic();
+        String getCreatedBy();
+        Integer getMaxAttendees();
+        Long getCurrentRegistrations();
+        Long getBuildingId();
+        String getBuildingName();
+    }
+
+    // Counting through the (event_id, user_id) unique index; no registration or user entities are loaded
+    String EVENT_ROW_SELECT = "SELECT e.id AS id, e.title AS title, e.description AS description, " +
+            "e.startTime AS startTime, e.endTime AS endTime, e.location AS location, e.clubId AS clubId, " +
+            "e.registrationSchema AS registrationSchema, e.isPublic AS isPublic, cb.username AS createdBy, " +
+            "e.maxAttendees AS maxAttendees, " +
+            "(SELECT COUNT(r) FROM EventRegistration r WHERE r.event.id = e.id) AS currentRegistrations, " +
+            "b.id AS buildingId, b.name AS buildingName " +
+            "FROM Event e LEFT JOIN e.createdBy cb LEFT JOIN e.building b ";
+
+    String PUBLIC_EVENT_ROW_SELECT = EVENT_ROW_SELECT + "WHERE e.isPublic = true ";
+
+    String PUBLIC_FEED_FILTERS = "AND (:buildingId IS NULL OR b.id = :buildingId) AND (:clubId IS NULL OR e.clubId = :clubId) ";
+
+    @org.springframework.data.jpa.repository.Query(PUBLIC_EVENT_ROW_SELECT)
+    List<PublicEventRow> findPublicEventRows();
+
+    @org.springframework.data.jpa.repository.Query(EVENT_ROW_SELECT + "WHERE e.id = ?1")
+    java.util.Optional<PublicEventRow> findEventRowById(Long id);
+
+    /** An event as listed on its organizer's dashboard. */
+    interface OrganizerEventRow {
+        Long getId();
+        String getTitle();
+        String getDescription();
+        java.time.LocalDateTime getStartTime();
+        java.time.LocalDateTime getEndTime();
+        String getLocation();
+        String getClubId();
+        String getRegistrationSchema();
+        Integer getMaxAttendees();
+        Long getBuildingId();
+        String getBuildingName();
+    }
+
+    @org.springframework.data.jpa.repository.Query("SELECT e.id AS id, e.title AS title, e.description AS description, " +
+            "e.startTime AS startTime, e.endTime AS endTime, e.location AS location, e.clubId AS clubId, " +
+            "e.registrationSchema AS registrationSchema, e.maxAttendees AS maxAttendees, " +
+            "b.id AS buildingId, b.name AS buildingName " +
+            "FROM Event e LEFT JOIN e.building b WHERE e.createdBy.username = ?1")
+    List<OrganizerEventRow> findOrganizerEventRows(String username);
+
+    /**
+     * Keyset page of public events starting after {@code (afterStart, afterId)} and before {@code upper},
+     * ascending. Walks the (start_time, id) index forwards.
+     */
+    @org.springframework.data.jpa.repository.Query(PUBLIC_EVENT_ROW_SELECT + PUBLIC_FEED_FILTERS +
+            "AND e.startTime < :upper " +
+            "AND (e.startTime > :afterStart OR (e.startTime = :afterStart AND e.id > :afterId)) " +
+            "ORDER BY e.startTime ASC, e.id ASC")
+    List<PublicEventRow> findPublicFeedAscending(@org.springframework.data.repository.query.Param("afterStart") java.time.LocalDateTime afterStart,
+                                                 @org.springframework.data.repository.query.Param("afterId") Long afterId,
+                                                 @org.springframework.data.repository.query.Param("upper") java.time.LocalDateTime upper,
+                                                 @org.springframework.data.repository.query.Param("buildingId") Long buildingId,
+                                                 @org.springframework.data.repository.query.Param("clubId") String clubId,
+                                                 org.springframework.data.domain.Pageable page);
+
+    /**
+     * Keyset page of public events starting before {@code (beforeStart, beforeId)} and at or after
+     * {@code lower}, descending. Walks the (start_time, id) index backwards.
+     */
+    @org.springframework.data.jpa.repository.Query(PUBLIC_EVENT_ROW_SELECT + PUBLIC_FEED_FILTERS +
+            "AND e.startTime >= :lower " +
+            "AND (e.startTime < :beforeStart OR (e.startTime = :beforeStart AND e.id < :beforeId)) " +
+            "ORDER BY e.startTime DESC, e.id DESC")
+    List<PublicEventRow> findPublicFeedDescending(@org.springframework.data.repository.query.Param("beforeStart") java.time.LocalDateTime beforeStart,
+                                                  @org.springframework.data.repository.query.Param("beforeId") Long beforeId,
+                                                  @org.springframework.data.repository.query.Param("lower") java.time.LocalDateTime lower,
+                                                  @org.springframework.data.repository.query.Param("buildingId") Long buildingId,
+                                                  @org.springframework.data.repository.query.Param("clubId") String clubId,
+                                                  org.springframework.data.domain.Pageable page);
     List<Event> findByCreatedBy_Username(String username);
 
+    /** Sets a still-unplaced (null or TBD) event location to its allocated room, for a batch of requests. */
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("UPDATE Event e SET e.location = " +
+            "(SELECT MIN(rm.name) FROM RoomBookingRequest r JOIN r.allocatedRoom rm WHERE r.id IN :requestIds AND r.event.id = e.id) " +
+            "WHERE (e.location IS NULL OR UPPER(e.location) = 'TBD') " +
+            "AND e.id IN (SELECT r.event.id FROM RoomBookingRequest r WHERE r.id IN :requestIds AND r.allocatedRoom.name IS NOT NULL)")
+    int placeEventsInAllocatedRooms(@org.springframework.data.repository.query.Param("requestIds") java.util.Collection<Long> requestIds);
+
     boolean existsByTitleAndStartTimeAndCreatedBy_Id(String title, java.time.LocalDateTime startTime, Long userId);
 
+    /** Whether {@code username} created the event or is registered for it; one indexed lookup each, nothing loaded. */
+    @org.springframework.data.jpa.repository.Query("SELECT CASE WHEN COUNT(e) > 0 THEN true ELSE false END FROM Event e LEFT JOIN e.createdBy c " +
+            "WHERE e.id = :eventId AND (c.username = :username " +
+            "OR EXISTS (SELECT 1 FROM EventRegistration r WHERE r.event.id = e.id AND r.user.username = :username))")
+    boolean isCreatorOrRegistrant(@org.springframework.data.repository.query.Param("eventId") Long eventId,
+                                  @org.springframework.data.repository.query.Param("username") String username);
+
     @org.springframework.data.jpa.repository.Query("SELECT CASE WHEN COUNT(e) > 0 THEN true ELSE false END FROM Event e WHERE e.createdBy.id = :userId AND e.startTime < :endTime AND e.endTime > :startTime")
     boolean hasOverlappingEvents(@org.springframework.data.repository.query.Param("userId") Long userId, 
                                  @org.springframework.data.repository.query.Param("startTime") java.time.LocalDateTime startTime, 
@@ -0,0 +1,30 @@
+package com.campus.event.repository;
+
+import com.campus.event.domain.EventSeatCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface EventSeatCounterRepository extends JpaRepository<EventSeatCounter, Long> {
+
+    /** Takes one seat if fewer than {@code max} are taken; returns 1 on success, 0 when full or missing. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EventSeatCounter c SET c.taken = c.taken + 1 WHERE c.eventId = :eventId AND c.taken < :max")
+    int takeSeat(@Param("eventId") Long eventId, @Param("max") int max);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE EventSeatCounter c SET c.taken = c.taken - 1 WHERE c.eventId = :eventId AND c.taken > 0")
+    int releaseSeat(@Param("eventId") Long eventId);
+
+    /** Creates the counter from the current registration count unless it already exists. */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO event_seat_counters (event_id, taken) " +
+            "SELECT :eventId, COUNT(*) FROM event_registrations WHERE event_id = :eventId " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int initialize(@Param("eventId") Long eventId);
+}
@@ -9,5 +9,17 @@ public interface EventTimeSlotRepository extends JpaRepository<EventTimeSlot, Lo
 
     List<EventTimeSlot> findByEvent_IdOrderBySlotStartAsc(Long eventId);
 
+    interface SlotRow {
+        Long getEventId();
+        Integer getDayIndex();
+        java.time.LocalDateTime getSlotStart();
+        java.time.LocalDateTime getSlotEnd();
+    }
+
+    @org.springframework.data.jpa.repository.Query("select s.event.id as eventId, s.dayIndex as dayIndex, " +
+            "s.slotStart as slotStart, s.slotEnd as slotEnd " +
+            "from EventTimeSlot s where s.event.id in ?1 order by s.event.id, s.slotStart")
+    List<SlotRow> findSlotRowsByEventIds(java.util.Collection<Long> eventIds);
+
     void deleteByEvent_Id(Long eventId);
 }
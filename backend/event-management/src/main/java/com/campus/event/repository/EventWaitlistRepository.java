@@ -0,0 +1,12 @@
+package com.campus.event.repository;
+
+import com.campus.event.domain.EventWaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface EventWaitlistRepository extends JpaRepository<EventWaitlistEntry, Long> {
+    Optional<EventWaitlistEntry> findByEventIdAndUserId(Long eventId, Long userId);
+    Optional<EventWaitlistEntry> findFirstByEventIdOrderByIdAsc(Long eventId);
+    long countByEventIdAndIdLessThanEqual(Long eventId, Long id);
+}
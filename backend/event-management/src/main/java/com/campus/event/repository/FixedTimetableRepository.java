@@ -8,6 +8,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.DayOfWeek;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -44,6 +45,11 @@ public interface FixedTimetableRepository extends JpaRepository<FixedTimetable,
     boolean existsByRoomIdAndDayOfWeekAndStartTimeBeforeAndEndTimeAfterAndIsActiveTrue(
         Long roomId, DayOfWeek dayOfWeek, LocalTime endTime, LocalTime startTime);
     
+    @Query("SELECT ft FROM FixedTimetable ft WHERE ft.room.id IN :roomIds AND " +
+           "ft.dayOfWeek IN :days AND ft.isActive = true")
+    List<FixedTimetable> findActiveByRoomIdsAndDays(@Param("roomIds") Collection<Long> roomIds,
+                                                    @Param("days") Collection<DayOfWeek> days);
+
     @Query("SELECT ft FROM FixedTimetable ft WHERE ft.isActive = true ORDER BY ft.dayOfWeek ASC, ft.startTime ASC")
     List<FixedTimetable> findAllActiveOrderByDayAndTime();
 }
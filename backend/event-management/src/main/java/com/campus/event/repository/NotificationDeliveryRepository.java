@@ -2,19 +2,98 @@ package com.campus.event.repository;
 
 import com.campus.event.domain.NotificationDelivery;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface NotificationDeliveryRepository extends JpaRepository<NotificationDelivery, Long> {
     List<NotificationDelivery> findByUser_UsernameOrderByCreatedAtDesc(String username);
     List<NotificationDelivery> findByNotification_Event_IdAndUser_UsernameOrderByCreatedAtDesc(Long eventId, String username);
 
-    @Query("select d.notification.id from NotificationDelivery d where d.user.id = ?1 and d.notification.event.id = ?2")
-    List<Long> findDeliveredNotificationIdsForUserEvent(Long userId, Long eventId);
+    java.util.Optional<NotificationDelivery> findByNotification_IdAndUser_Username(Long notificationId, String username);
 
-    @Query("select d from NotificationDelivery d join fetch d.notification n left join fetch n.event where d.user.username = ?1 order by d.createdAt desc")
-    List<NotificationDelivery> findInboxByUsernameWithNotification(String username);
+    interface InboxRow {
+        Long getDeliveryId();
+        Long getId();
+        String getTitle();
+        String getMessage();
+        com.campus.event.domain.NotificationOrigin getOrigin();
+        com.campus.event.domain.Urgency getUrgency();
+        Boolean getThreadEnabled();
+        Boolean getRead();
+        Boolean getMuted();
+        LocalDateTime getCreatedAt();
+    }
+
+    /**
+     * The user's inbox: messages they have a delivery for (broadcasts, or event messages they have
+     * read or muted), plus every message of the events they are registered for. Event messages
+     * without a delivery are shown unread and unmuted with a null {@code deliveryId}.
+     * <p>
+     * The two sources are separate branches of a {@code union all}, each driven by its own index
+     * (deliveries by user, messages by event), rather than one outer join over every message.
+     */
+    @Query("select i.deliveryId as deliveryId, i.id as id, i.title as title, i.message as message, i.origin as origin, " +
+            "i.urgency as urgency, i.threadEnabled as threadEnabled, i.read as read, i.muted as muted, " +
+            "i.createdAt as createdAt from (" +
+            "select d.id as deliveryId, n.id as id, n.title as title, n.message as message, n.origin as origin, " +
+            "n.urgency as urgency, n.threadEnabled as threadEnabled, " +
+            "case when d.readAt is not null then true else false end as read, d.muted as muted, " +
+            "n.createdAt as createdAt " +
+            "from NotificationDelivery d join d.notification n where d.user.username = ?1 " +
+            "union all " +
+            "select cast(null as Long), n.id, n.title, n.message, n.origin, n.urgency, n.threadEnabled, false, false, n.createdAt " +
+            "from EventRegistration r join NotificationMessage n on n.event = r.event " +
+            "where r.user.username = ?1 " +
+            "and not exists (select 1 from NotificationDelivery d where d.notification = n and d.user = r.user)" +
+            ") i order by i.createdAt desc")
+    List<InboxRow> findInboxRowsByUsername(String username);
+
+    /** Messages of one event merged with the user's read / mute state; no delivery rows are needed. */
+    @Query("select d.id as deliveryId, n.id as id, n.title as title, n.message as message, n.origin as origin, " +
+            "n.urgency as urgency, n.threadEnabled as threadEnabled, " +
+            "case when d.readAt is not null then true else false end as read, coalesce(d.muted, false) as muted, " +
+            "n.createdAt as createdAt " +
+            "from NotificationMessage n left join NotificationDelivery d on d.notification = n and d.user.username = ?2 " +
+            "where n.event.id = ?1 order by n.createdAt desc")
+    List<InboxRow> findEventInboxRows(Long eventId, String username);
 
     void deleteByNotification_Event_Id(Long eventId);
+
+    long countByNotification_Id(Long notificationId);
+
+    /**
+     * Fans a notification out to users with {@code afterId < id <= upToId} in one statement.
+     * Users that already have a delivery for it are skipped by the unique (user, message) key, so a
+     * retried chunk is harmless.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO notification_deliveries (notification_id, user_id, delivery_status, muted, created_at) " +
+            "SELECT :notificationId, u.id, 'PENDING', false, :createdAt FROM users u " +
+            "WHERE u.id > :afterId AND u.id <= :upToId " +
+            "ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertDeliveriesForUserRange(@Param("notificationId") Long notificationId,
+                                     @Param("afterId") long afterId,
+                                     @Param("upToId") long upToId,
+                                     @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Creates the user's delivery of a message the first time they read or mute it. A no-op when
+     * the delivery already exists, including one inserted concurrently by another request.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO notification_deliveries (notification_id, user_id, delivery_status, muted, created_at) " +
+            "VALUES (:notificationId, :userId, 'PENDING', false, :createdAt) " +
+            "ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertDeliveryIfAbsent(@Param("notificationId") Long notificationId,
+                               @Param("userId") Long userId,
+                               @Param("createdAt") LocalDateTime createdAt);
 }
@@ -2,7 +2,12 @@ package com.campus.event.repository;
 
 import com.campus.event.domain.NotificationMessage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface NotificationMessageRepository extends JpaRepository<NotificationMessage, Long> {
@@ -11,4 +16,34 @@ public interface NotificationMessageRepository extends JpaRepository<Notificatio
     List<NotificationMessage> findByEvent_IdOrderByCreatedAtDesc(Long eventId);
 
     void deleteByEvent_Id(Long eventId);
+
+    /** Fan-out progress of a broadcast. */
+    interface FanoutState {
+        Long getFanoutTargetUserId();
+        Long getFanoutCursorUserId();
+    }
+
+    @Query("select n.fanoutTargetUserId as fanoutTargetUserId, n.fanoutCursorUserId as fanoutCursorUserId " +
+            "from NotificationMessage n where n.id = ?1")
+    FanoutState findFanoutStateById(Long id);
+
+    /** Fixes the audience of a broadcast on its first fan-out; a no-op once set. */
+    @Modifying
+    @Transactional
+    @Query("update NotificationMessage n set n.fanoutTargetUserId = ?2 where n.id = ?1 and n.fanoutTargetUserId is null")
+    int startFanout(Long id, long targetUserId);
+
+    @Modifying
+    @Transactional
+    @Query("update NotificationMessage n set n.fanoutCursorUserId = ?2 where n.id = ?1")
+    int advanceFanout(Long id, long cursorUserId);
+
+    /** Broadcasts created before {@code createdBefore} whose fan-out never started or did not finish. */
+    @Query(value = "SELECT id FROM notification_messages" +
+            " WHERE origin = 'GLOBAL'" +
+            "   AND (fanout_target_user_id IS NULL OR COALESCE(fanout_cursor_user_id, 0) < fanout_target_user_id)" +
+            "   AND created_at < :createdBefore" +
+            " ORDER BY id",
+            nativeQuery = true)
+    List<Long> findUnfinishedBroadcastIds(@Param("createdBefore") LocalDateTime createdBefore);
 }
@@ -1,10 +1,61 @@
 package com.campus.event.repository;
 
 import com.campus.event.domain.Notification;
+import com.campus.event.domain.NotificationStatus;
+import com.campus.event.domain.NotificationType;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByUser_UsernameOrderByCreatedAtDesc(String username);
+
+    /** Where an outbound notification has to go. */
+    interface OutboundRecipient {
+        Long getId();
+        String getEmail();
+        String getPhoneNumber();
+    }
+
+    /**
+     * Outbound rows that are due: PENDING ones whose backoff has elapsed and SENDING ones whose
+     * lease expired (the worker that claimed them died). Rows locked by another worker are skipped.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select n from Notification n where n.type in :types and n.status in :statuses " +
+            "and (n.nextAttemptAt is null or n.nextAttemptAt <= :now) order by n.id")
+    List<Notification> lockDueOutbound(@Param("types") Collection<NotificationType> types,
+                                       @Param("statuses") Collection<NotificationStatus> statuses,
+                                       @Param("now") LocalDateTime now,
+                                       Pageable page);
+
+    @Query("select n.id as id, u.email as email, u.phoneNumber as phoneNumber from Notification n join n.user u where n.id in ?1")
+    List<OutboundRecipient> findOutboundRecipients(Collection<Long> notificationIds);
+
+    @Modifying
+    @Transactional
+    @Query("update Notification n set n.status = com.campus.event.domain.NotificationStatus.SENT, n.sentAt = :sentAt, " +
+            "n.attempts = n.attempts + 1, n.nextAttemptAt = null, n.lastError = null where n.id = :id")
+    int markSent(@Param("id") Long id, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Transactional
+    @Query("update Notification n set n.status = :status, n.attempts = n.attempts + 1, " +
+            "n.nextAttemptAt = :nextAttemptAt, n.lastError = :error where n.id = :id")
+    int markAttemptFailed(@Param("id") Long id,
+                          @Param("status") NotificationStatus status,
+                          @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                          @Param("error") String error);
 }
@@ -2,11 +2,17 @@ package com.campus.event.repository;
 
 import com.campus.event.domain.Registration;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface RegistrationRepository extends JpaRepository<Registration, Long> {
     boolean existsByEventIdAndEmail(Long eventId, String email);
     List<Registration> findByEmail(String email);
     void deleteByEvent_Id(Long eventId);
+    void deleteByEventIdAndEmail(Long eventId, String email);
+
+    @Query("select r.email from Registration r where r.event.id = ?1 and r.email in ?2")
+    List<String> findEmailsByEventIdAndEmailIn(Long eventId, Collection<String> emails);
 }
@@ -2,14 +2,17 @@ package com.campus.event.repository;
 
 import com.campus.event.domain.RoomBookingRequest;
 import com.campus.event.domain.RoomBookingStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -20,38 +23,126 @@ public interface RoomBookingRequestRepository extends JpaRepository<RoomBookingR
     
     List<RoomBookingRequest> findByStatusOrderByRequestedAtDesc(RoomBookingStatus status);
     
+    @EntityGraph(attributePaths = {"event", "allocatedRoom"})
     List<RoomBookingRequest> findByStatusIn(Set<RoomBookingStatus> statuses);
     
     @Query("SELECT rbr FROM RoomBookingRequest rbr WHERE rbr.allocatedRoom.id = :roomId AND " +
            "(rbr.status = 'APPROVED' OR rbr.status = 'CONFIRMED') AND " +
-           "((rbr.event IS NOT NULL AND CAST(rbr.event.startTime AS date) = :date) OR " +
-           "(rbr.meetingStart IS NOT NULL AND CAST(rbr.meetingStart AS date) = :date))")
+           "CAST(rbr.effectiveStart AS date) = :date")
     List<RoomBookingRequest> findByAllocatedRoomIdAndDateBookings(@Param("roomId") Long roomId, @Param("date") LocalDate date);
     
     @Query("SELECT rbr FROM RoomBookingRequest rbr WHERE rbr.allocatedRoom.id = :roomId AND " +
            "(rbr.status = 'APPROVED' OR rbr.status = 'CONFIRMED') AND " +
-           "((rbr.event IS NOT NULL AND rbr.event.startTime < :endTime AND rbr.event.endTime > :startTime) OR " +
-           "(rbr.meetingStart IS NOT NULL AND rbr.meetingStart < :endTime AND rbr.meetingEnd > :startTime))")
+           "rbr.effectiveStart < :endTime AND rbr.effectiveEnd > :startTime")
     List<RoomBookingRequest> findConflictingBookings(@Param("roomId") Long roomId,
                                                      @Param("startTime") LocalDateTime startTime,
                                                      @Param("endTime") LocalDateTime endTime);
     
+    /** Room id and effective window of an APPROVED / CONFIRMED booking. */
+    interface OccupiedWindow {
+        Long getRoomId();
+        LocalDateTime getWindowStart();
+        LocalDateTime getWindowEnd();
+    }
+
+    /** Occupied windows of the given rooms that overlap [rangeStart, rangeEnd), in one statement. */
+    @Query("SELECT rbr.allocatedRoom.id AS roomId, rbr.effectiveStart AS windowStart, rbr.effectiveEnd AS windowEnd " +
+           "FROM RoomBookingRequest rbr " +
+           "WHERE rbr.allocatedRoom.id IN :roomIds AND " +
+           "(rbr.status = 'APPROVED' OR rbr.status = 'CONFIRMED') AND " +
+           "rbr.effectiveStart < :rangeEnd AND rbr.effectiveEnd > :rangeStart")
+    List<OccupiedWindow> findOccupiedWindows(@Param("roomIds") Collection<Long> roomIds,
+                                             @Param("rangeStart") LocalDateTime rangeStart,
+                                             @Param("rangeEnd") LocalDateTime rangeEnd);
+
+    /** {@link OccupiedWindow} plus the event title, or the meeting purpose for meetings. */
+    interface BookedWindow extends OccupiedWindow {
+        String getTitle();
+    }
+
+    /** Occupied windows of the given rooms that overlap [rangeStart, rangeEnd), in start order. */
+    @Query("SELECT rbr.allocatedRoom.id AS roomId, rbr.effectiveStart AS windowStart, rbr.effectiveEnd AS windowEnd, " +
+           "COALESCE(e.title, rbr.meetingPurpose) AS title " +
+           "FROM RoomBookingRequest rbr LEFT JOIN rbr.event e " +
+           "WHERE rbr.allocatedRoom.id IN :roomIds AND " +
+           "(rbr.status = 'APPROVED' OR rbr.status = 'CONFIRMED') AND " +
+           "rbr.effectiveStart < :rangeEnd AND rbr.effectiveEnd > :rangeStart " +
+           "ORDER BY rbr.effectiveStart ASC, rbr.id ASC")
+    List<BookedWindow> findBookedWindows(@Param("roomIds") Collection<Long> roomIds,
+                                         @Param("rangeStart") LocalDateTime rangeStart,
+                                         @Param("rangeEnd") LocalDateTime rangeEnd);
+
+    @EntityGraph(attributePaths = {"event", "pref1", "pref2", "pref3"})
     @Query("select r from RoomBookingRequest r where r.status = 'PENDING' and r.requestedAt <= ?1")
     List<RoomBookingRequest> findPendingOlderThan(LocalDateTime cutoff);
     
     @Query("SELECT rbr FROM RoomBookingRequest rbr WHERE rbr.status = 'APPROVED' AND rbr.approvedAt <= :cutoff")
     List<RoomBookingRequest> findApprovedToConfirm(@Param("cutoff") LocalDateTime cutoff);
 
+    /** A request flipped to CONFIRMED by {@link #confirmApprovedChunk}. */
+    interface ConfirmedRow {
+        Long getId();
+        Long getEventId();
+        String getRoomName();
+        String getRequestedByUsername();
+        /** Seconds between approval and this confirmation. */
+        Long getLagSeconds();
+    }
+
+    /**
+     * Confirms up to {@code limit} APPROVED event requests with an allocated room, approved at or
+     * before {@code cutoff} and with an id above {@code afterId}, and returns them. Rows locked by
+     * another transaction are skipped. PostgreSQL only (UPDATE ... RETURNING). Bypasses entity
+     * listeners, which is safe for the occupancy index because APPROVED and CONFIRMED rows occupy a
+     * room alike.
+     */
+    @Query(value = "WITH picked AS (" +
+            "  SELECT id FROM room_booking_requests" +
+            "  WHERE status = 'APPROVED' AND approved_at <= :cutoff" +
+            "    AND event_id IS NOT NULL AND allocated_room_id IS NOT NULL AND id > :afterId" +
+            "  ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "UPDATE room_booking_requests r SET status = 'CONFIRMED', confirmed_at = :now, version = r.version + 1 " +
+            "FROM picked, rooms rm " +
+            "WHERE r.id = picked.id AND rm.id = r.allocated_room_id " +
+            "RETURNING r.id AS \"id\", r.event_id AS \"eventId\", rm.name AS \"roomName\", " +
+            "r.requested_by_username AS \"requestedByUsername\", " +
+            "CAST(EXTRACT(EPOCH FROM (CAST(:now AS timestamp) - r.approved_at)) AS bigint) AS \"lagSeconds\"",
+            nativeQuery = true)
+    List<ConfirmedRow> confirmApprovedChunk(@Param("cutoff") LocalDateTime cutoff,
+                                            @Param("afterId") long afterId,
+                                            @Param("now") LocalDateTime now,
+                                            @Param("limit") int limit);
+
+    /** Lowest id above {@code afterId} that {@link #confirmApprovedChunk} would pick, or null. */
+    @Query(value = "SELECT min(id) FROM room_booking_requests" +
+            " WHERE status = 'APPROVED' AND approved_at <= :cutoff" +
+            "   AND event_id IS NOT NULL AND allocated_room_id IS NOT NULL AND id > :afterId",
+            nativeQuery = true)
+    Long findNextApprovedToConfirmId(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") long afterId);
+
     List<RoomBookingRequest> findBySplitGroupId(UUID splitGroupId);
 
     boolean existsByEvent_IdAndStatus(Long eventId, RoomBookingStatus status);
 
     boolean existsByEvent_IdAndStatusIn(Long eventId, Set<RoomBookingStatus> statuses);
 
+    /** Ids of the organizer's events that have at least one booking request in {@code statuses}. */
+    @Query("select distinct r.event.id from RoomBookingRequest r where r.event.createdBy.username = ?1 and r.status in ?2")
+    Set<Long> findEventIdsByOrganizerAndStatusIn(String username, Set<RoomBookingStatus> statuses);
+
     void deleteByEvent_Id(Long eventId);
+
+    /** Re-materializes the booking window of every request for an event after its times change. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE RoomBookingRequest r SET r.effectiveStart = :startTime, r.effectiveEnd = :endTime WHERE r.event.id = :eventId")
+    int syncEffectiveWindowForEvent(@Param("eventId") Long eventId,
+                                    @Param("startTime") LocalDateTime startTime,
+                                    @Param("endTime") LocalDateTime endTime);
     
+    // VERSIONED bumps the version so a concurrent approval of a sibling fails its optimistic check
     @Modifying
-    @Query("UPDATE RoomBookingRequest r SET r.status = 'REJECTED' WHERE r.splitGroupId = :groupId AND r.id != :approvedId AND r.status = 'PENDING'")
+    @Query("UPDATE VERSIONED RoomBookingRequest r SET r.status = 'REJECTED' WHERE r.splitGroupId = :groupId AND r.id != :approvedId AND r.status = 'PENDING'")
     void rejectSplitSiblingsBulk(@Param("groupId") UUID groupId, @Param("approvedId") Long approvedId);
     
     @Query("SELECT r FROM RoomBookingRequest r ORDER BY r.requestedAt DESC")
@@ -20,6 +20,19 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
     @Query("SELECT r FROM Room r WHERE r.floor.building.id = :buildingId AND r.isActive = true ORDER BY r.floor.floorNumber ASC, r.roomNumber ASC")
     List<Room> findByBuildingIdAndIsActiveTrue(@Param("buildingId") Long buildingId);
     
+    @Query("SELECT r FROM Room r JOIN FETCH r.floor f JOIN FETCH f.building WHERE r.isActive = true")
+    List<Room> findActiveWithBuilding();
+
+    /** Room id with its building id (null when the room has no floor or building). */
+    interface RoomBuilding {
+        Long getRoomId();
+        Long getBuildingId();
+    }
+
+    @Query("SELECT r.id AS roomId, b.id AS buildingId FROM Room r LEFT JOIN r.floor f LEFT JOIN f.building b " +
+           "WHERE r.id IN :roomIds")
+    List<RoomBuilding> findRoomBuildings(@Param("roomIds") java.util.Collection<Long> roomIds);
+
     @Query("SELECT r FROM Room r WHERE r.capacity >= :minCapacity AND r.isActive = true")
     List<Room> findByCapacityGreaterThanEqual(@Param("minCapacity") Integer minCapacity);
     
@@ -37,10 +50,6 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
                                     @Param("dayOfWeek") java.time.DayOfWeek dayOfWeek,
                                     @Param("startTime") LocalTime startTime, 
                                     @Param("endTime") LocalTime endTime);
-
-    @org.springframework.data.jpa.repository.Lock(jakarta.persistence.LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT r FROM Room r WHERE r.id = :id")
-    java.util.Optional<Room> findByIdWithPessimisticLock(@Param("id") Long id);
 }
 
 
@@ -2,16 +2,21 @@ package com.campus.event.repository;
 
 import com.campus.event.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
+    List<User> findByUsernameIn(java.util.Collection<String> usernames);
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
     List<User> findByRequestedRoleIsNotNull();
+
+    @Query("select max(u.id) from User u")
+    Long findMaxId();
 }
 
 
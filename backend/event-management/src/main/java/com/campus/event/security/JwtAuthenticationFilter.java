@@ -7,6 +7,7 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import org.springframework.lang.NonNull;
 import org.springframework.beans.factory.annotation.Value;
@@ -25,13 +26,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtTokenService jwtTokenService;
     private final CustomUserDetailsService userDetailsService;
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
     @Value("${app.security.enforce-single-session:true}")
     private boolean enforceSingleSession;
 
-    public JwtAuthenticationFilter(JwtTokenService jwtTokenService, CustomUserDetailsService userDetailsService, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtTokenService jwtTokenService, CustomUserDetailsService userDetailsService,
+                                   UserRepository userRepository, PrincipalCache principalCache) {
         this.jwtTokenService = jwtTokenService;
         this.userDetailsService = userDetailsService;
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -42,20 +46,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String jwt = authHeader.substring(7);
             try {
-                String username = jwtTokenService.extractUsername(jwt);
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    if (enforceSingleSession) {
-                        User dbUser = userRepository.findByUsername(username).orElse(null);
-                        if (dbUser == null || dbUser.getActiveSessionToken() == null || !jwt.equals(dbUser.getActiveSessionToken())) {
+                if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                    UserDetails userDetails = principalCache.get(jwt);
+                    if (userDetails == null) {
+                        Claims claims = jwtTokenService.parseValidClaims(jwt);
+                        String username = claims.getSubject();
+                        User dbUser = username != null ? userRepository.findByUsername(username).orElse(null) : null;
+                        if (enforceSingleSession && username != null
+                                && (dbUser == null || dbUser.getActiveSessionToken() == null || !jwt.equals(dbUser.getActiveSessionToken()))) {
                             SecurityContextHolder.clearContext();
                             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                             response.setContentType("application/json");
                             response.getWriter().write("{\"error\":\"Already logged in on another device.\"}");
                             return;
                         }
+                        if (dbUser != null) {
+                            userDetails = userDetailsService.toUserDetails(dbUser);
+                            principalCache.put(jwt, userDetails,
+                                    claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE);
+                        }
                     }
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    if (jwtTokenService.isTokenValid(jwt, userDetails)) {
+                    if (userDetails != null) {
                         UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                                 userDetails, null, userDetails.getAuthorities());
                         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -22,6 +22,11 @@ public class JwtTokenService {
     @Value("${app.security.jwtExpirationMs}")
     private long jwtExpirationMs;
 
+    /** Verifies signature and expiry in one parse; throws {@link io.jsonwebtoken.JwtException} if either fails. */
+    public Claims parseValidClaims(String token) {
+        return extractAllClaims(token);
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
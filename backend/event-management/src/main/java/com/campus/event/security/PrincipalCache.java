@@ -0,0 +1,89 @@
+package com.campus.event.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU of principals resolved from bearer tokens, keyed by the SHA-256 of the token.
+ * An entry is only stored after the token's signature, expiry and single-session check passed,
+ * and it lives until the token expires or {@code ttlSeconds}, whichever is sooner. Anything that
+ * changes who a user is (login, logout, role or password change) must call {@link #invalidateUser}.
+ */
+@Component
+public class PrincipalCache {
+
+    record CachedPrincipal(UserDetails userDetails, long expiresAtMillis) {
+    }
+
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    // Guarded by "this"; access-ordered so the eldest entry is the least recently used
+    private final LinkedHashMap<String, CachedPrincipal> entries;
+
+    public PrincipalCache(@Value("${app.security.principalCache.maxEntries:10000}") int maxEntries,
+                          @Value("${app.security.principalCache.ttlSeconds:60}") long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPrincipal> eldest) {
+                return size() > PrincipalCache.this.maxEntries;
+            }
+        };
+    }
+
+    /** The cached principal for {@code token}, or null if absent or expired. */
+    public UserDetails get(String token) {
+        String key = hash(token);
+        synchronized (this) {
+            CachedPrincipal p = entries.get(key);
+            if (p == null) return null;
+            if (p.expiresAtMillis() <= System.currentTimeMillis()) {
+                entries.remove(key);
+                return null;
+            }
+            return p.userDetails();
+        }
+    }
+
+    public void put(String token, UserDetails userDetails, long tokenExpiresAtMillis) {
+        if (maxEntries <= 0) return;
+        long expiresAt = Math.min(tokenExpiresAtMillis, System.currentTimeMillis() + ttlMillis);
+        String key = hash(token);
+        synchronized (this) {
+            entries.put(key, new CachedPrincipal(userDetails, expiresAt));
+        }
+    }
+
+    /** Drops every cached token of {@code username}. */
+    public synchronized void invalidateUser(String username) {
+        if (username == null) return;
+        entries.values().removeIf(p -> username.equals(p.userDetails().getUsername()));
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
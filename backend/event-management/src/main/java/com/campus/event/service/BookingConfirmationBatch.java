@@ -0,0 +1,84 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.User;
+import com.campus.event.repository.EventRepository;
+import com.campus.event.repository.RoomBookingRequestRepository;
+import com.campus.event.repository.UserRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One transaction of {@link ConfirmBookingScheduler}: confirms a chunk of approved requests with a
+ * single UPDATE ... RETURNING, places their events in the allocated rooms with one bulk update,
+ * and queues the requester notifications in the same transaction (in-app rows are written
+ * directly, email / SMS go through the notification outbox).
+ */
+@Component
+public class BookingConfirmationBatch {
+
+    /** Outcome of one chunk; {@code lastId} is the highest request id it confirmed. */
+    public record Chunk(int confirmed, long maxLagSeconds, Set<Long> eventIds, long lastId) {
+    }
+
+    private final RoomBookingRequestRepository requestRepo;
+    private final EventRepository eventRepo;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+
+    public BookingConfirmationBatch(RoomBookingRequestRepository requestRepo, EventRepository eventRepo,
+                                    UserRepository userRepository, NotificationService notificationService) {
+        this.requestRepo = requestRepo;
+        this.eventRepo = eventRepo;
+        this.userRepository = userRepository;
+        this.notificationService = notificationService;
+    }
+
+    /** Confirms up to {@code limit} requests with an id above {@code afterId}, in id order. */
+    @Transactional
+    public Chunk confirmChunk(LocalDateTime cutoff, long afterId, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<RoomBookingRequestRepository.ConfirmedRow> rows = requestRepo.confirmApprovedChunk(cutoff, afterId, now, limit);
+        if (rows.isEmpty()) {
+            return new Chunk(0, 0, Set.of(), afterId);
+        }
+
+        eventRepo.placeEventsInAllocatedRooms(rows.stream()
+                .map(RoomBookingRequestRepository.ConfirmedRow::getId).collect(Collectors.toList()));
+
+        Set<String> usernames = rows.stream()
+                .map(RoomBookingRequestRepository.ConfirmedRow::getRequestedByUsername)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<String, User> users = usernames.isEmpty() ? Map.of() : userRepository.findByUsernameIn(usernames).stream()
+                .collect(Collectors.toMap(User::getUsername, Function.identity(), (a, b) -> a));
+
+        long maxLag = 0;
+        long lastId = afterId;
+        for (RoomBookingRequestRepository.ConfirmedRow r : rows) {
+            lastId = Math.max(lastId, r.getId());
+            if (r.getLagSeconds() != null) maxLag = Math.max(maxLag, r.getLagSeconds());
+            User u = r.getRequestedByUsername() != null ? users.get(r.getRequestedByUsername()) : null;
+            if (u != null) {
+                String subj = "Room booking confirmed";
+                String msg = "Your room booking request (ID " + r.getId() + ") is now CONFIRMED for room '" + r.getRoomName() + "'.";
+                notificationService.notifyAllChannels(u, subj, msg);
+            }
+        }
+        Set<Long> eventIds = rows.stream().map(RoomBookingRequestRepository.ConfirmedRow::getEventId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        return new Chunk(rows.size(), maxLag, eventIds, lastId);
+    }
+
+    /** Id of the next request {@link #confirmChunk} would pick after {@code afterId}, or null. */
+    @Transactional(readOnly = true)
+    public Long nextCandidateId(LocalDateTime cutoff, long afterId) {
+        return requestRepo.findNextApprovedToConfirmId(cutoff, afterId);
+    }
+}
@@ -0,0 +1,27 @@
+package com.campus.event.service;
+
+/**
+ * A room booking could not be written because of a concurrent change. {@link Reason#OVERLAP}
+ * means another booking now holds the room for an overlapping window, so the caller should pick
+ * another room or time. {@link Reason#CONCURRENT_UPDATE} means the request itself was modified
+ * meanwhile, and reloading and retrying is safe.
+ */
+public class BookingConflictException extends RuntimeException {
+
+    public enum Reason { OVERLAP, CONCURRENT_UPDATE }
+
+    private final Reason reason;
+
+    public BookingConflictException(Reason reason, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public boolean isRetryable() {
+        return reason == Reason.CONCURRENT_UPDATE;
+    }
+}
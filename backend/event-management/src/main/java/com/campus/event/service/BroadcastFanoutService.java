@@ -0,0 +1,132 @@
+package com.campus.event.service;
+
+import com.campus.event.repository.NotificationDeliveryRepository;
+import com.campus.event.repository.NotificationMessageRepository;
+import com.campus.event.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Creates the per-user deliveries of a global broadcast off the request thread. Users are
+ * walked in id ranges and each range is one {@code INSERT ... SELECT} in its own short
+ * transaction, so no user entities are loaded and no large persistence context is held.
+ * <p>
+ * The first run fixes the audience (users up to the highest id at that moment) and each range
+ * advances a cursor on the message. A fan-out that was rejected by the executor or stopped
+ * part-way is picked up by {@link #resumeUnfinished()} and continues from the cursor; inserts skip
+ * existing deliveries, so re-running a range is harmless.
+ */
+@Service
+public class BroadcastFanoutService {
+    private static final Logger log = LoggerFactory.getLogger(BroadcastFanoutService.class);
+    private static final int TRACKED_BROADCASTS = 100;
+
+    public enum State { RUNNING, COMPLETED, FAILED, UNKNOWN }
+
+    public record Progress(Long notificationId, State state, long totalUsers, long delivered) {
+    }
+
+    private final NotificationDeliveryRepository deliveryRepository;
+    private final NotificationMessageRepository messageRepository;
+    private final UserRepository userRepository;
+
+    @Value("${app.notifications.fanout.chunkSize:1000}")
+    private int chunkSize = 1000;
+
+    // Younger broadcasts are still being handed to the executor by the request that created them
+    @Value("${app.notifications.fanout.resumeAfterSeconds:60}")
+    private long resumeAfterSeconds = 60;
+
+    // Most recent broadcasts only; older ones are answered from the database
+    private final Map<Long, Progress> progress = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Progress> eldest) {
+            return size() > TRACKED_BROADCASTS;
+        }
+    };
+
+    public BroadcastFanoutService(NotificationDeliveryRepository deliveryRepository,
+                                  NotificationMessageRepository messageRepository,
+                                  UserRepository userRepository) {
+        this.deliveryRepository = deliveryRepository;
+        this.messageRepository = messageRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Async("notificationFanoutExecutor")
+    public void fanOut(Long notificationId) {
+        run(notificationId);
+    }
+
+    /** Continues broadcasts whose fan-out never started or did not finish, one at a time. */
+    @Scheduled(fixedDelayString = "${app.notifications.fanout.resumeMs:300000}")
+    public void resumeUnfinished() {
+        LocalDateTime createdBefore = LocalDateTime.now().minusSeconds(resumeAfterSeconds);
+        for (Long notificationId : messageRepository.findUnfinishedBroadcastIds(createdBefore)) {
+            if (isRunning(notificationId)) continue;
+            log.info("Resuming fan-out of broadcast {}", notificationId);
+            run(notificationId);
+        }
+    }
+
+    private void run(Long notificationId) {
+        long total = userRepository.count();
+        long delivered = 0;
+        track(new Progress(notificationId, State.RUNNING, total, 0));
+        LocalDateTime createdAt = LocalDateTime.now();
+        try {
+            Long maxId = userRepository.findMaxId();
+            messageRepository.startFanout(notificationId, maxId != null ? maxId : 0);
+            NotificationMessageRepository.FanoutState state = messageRepository.findFanoutStateById(notificationId);
+            long upper = state != null && state.getFanoutTargetUserId() != null
+                    ? state.getFanoutTargetUserId() : (maxId != null ? maxId : 0);
+            long after = state != null && state.getFanoutCursorUserId() != null ? state.getFanoutCursorUserId() : 0;
+            if (after > 0) {
+                delivered = deliveryRepository.countByNotification_Id(notificationId);
+            }
+            while (after < upper) {
+                long upTo = Math.min(after + chunkSize, upper);
+                delivered += deliveryRepository.insertDeliveriesForUserRange(notificationId, after, upTo, createdAt);
+                messageRepository.advanceFanout(notificationId, upTo);
+                after = upTo;
+                track(new Progress(notificationId, State.RUNNING, total, delivered));
+            }
+            track(new Progress(notificationId, State.COMPLETED, total, delivered));
+            log.info("Broadcast {} fanned out to {} users", notificationId, delivered);
+        } catch (RuntimeException e) {
+            track(new Progress(notificationId, State.FAILED, total, delivered));
+            log.error("Broadcast {} fan-out failed after {} deliveries", notificationId, delivered, e);
+        }
+    }
+
+    public Progress getProgress(Long notificationId) {
+        Progress p;
+        synchronized (progress) {
+            p = progress.get(notificationId);
+        }
+        if (p != null) return p;
+        return new Progress(notificationId, State.UNKNOWN, userRepository.count(),
+                deliveryRepository.countByNotification_Id(notificationId));
+    }
+
+    private boolean isRunning(Long notificationId) {
+        synchronized (progress) {
+            Progress p = progress.get(notificationId);
+            return p != null && p.state() == State.RUNNING;
+        }
+    }
+
+    private void track(Progress p) {
+        synchronized (progress) {
+            progress.put(p.notificationId(), p);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.campus.event.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that drops the {@link BuildingTimetableService} hours table after a
+ * building timetable row changes. The drop happens after commit so a concurrent check cannot
+ * reload the old rows and keep them.
+ * <p>
+ * Hibernate creates this listener while the EntityManagerFactory is still being built, so the
+ * service (which needs a repository, which needs that factory) is looked up on first use.
+ */
+@Component
+public class BuildingHoursListener {
+
+    private final ObjectProvider<BuildingTimetableService> buildingTimetableService;
+
+    public BuildingHoursListener(ObjectProvider<BuildingTimetableService> buildingTimetableService) {
+        this.buildingTimetableService = buildingTimetableService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void afterChange(Object entity) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    buildingTimetableService.getObject().invalidate();
+                }
+            });
+        } else {
+            buildingTimetableService.getObject().invalidate();
+        }
+    }
+}
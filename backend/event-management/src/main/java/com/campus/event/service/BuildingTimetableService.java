@@ -2,40 +2,116 @@ package com.campus.event.service;
 
 import com.campus.event.domain.BuildingTimetable;
 import com.campus.event.repository.BuildingTimetableRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Building operating hours, answered from an immutable in-memory table of
+ * building -> {@link DayOfWeek} -> configured windows. The table is loaded once the application is
+ * ready (after seeding) and dropped by {@link BuildingHoursListener} whenever a
+ * {@link BuildingTimetable} row changes; the next check reloads it.
+ */
 @Service
 public class BuildingTimetableService {
+    private static final Logger log = LoggerFactory.getLogger(BuildingTimetableService.class);
+
+    private static final LocalTime END_OF_DAY = LocalTime.of(23, 59, 59, 999_999_999);
+
+    /** One configured operating window. */
+    public record Window(LocalTime start, LocalTime end) {
+    }
+
+    /**
+     * A day's windows sorted by start, with the latest end among each prefix. A booking must fit
+     * inside a single window, and the windows starting at or before it can hold it exactly when
+     * the latest of their ends reaches its end.
+     */
+    private record Day(LocalTime[] starts, LocalTime[] maxEnds) {
+        static Day of(List<Window> windows) {
+            windows.sort(Comparator.comparing(Window::start));
+            LocalTime[] starts = new LocalTime[windows.size()];
+            LocalTime[] maxEnds = new LocalTime[windows.size()];
+            LocalTime max = LocalTime.MIN;
+            for (int i = 0; i < windows.size(); i++) {
+                Window w = windows.get(i);
+                if (w.end().isAfter(max)) max = w.end();
+                starts[i] = w.start();
+                maxEnds[i] = max;
+            }
+            return new Day(starts, maxEnds);
+        }
+
+        boolean covers(LocalTime segStart, LocalTime segEnd) {
+            // Last window starting at or before segStart
+            int lo = 0;
+            int hi = starts.length - 1;
+            int found = -1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (!starts[mid].isAfter(segStart)) {
+                    found = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return found >= 0 && !maxEnds[found].isBefore(segEnd);
+        }
+    }
 
     private final BuildingTimetableRepository buildingTimetableRepository;
+    private volatile Map<Long, Map<DayOfWeek, Day>> hours;
 
     public BuildingTimetableService(BuildingTimetableRepository buildingTimetableRepository) {
         this.buildingTimetableRepository = buildingTimetableRepository;
     }
 
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        table();
+    }
+
+    /** Drops the table; the next check reloads it from the database. */
+    public synchronized void invalidate() {
+        hours = null;
+    }
+
     /**
      * True when every local-time segment of [start, end] on each calendar day touched
-     * lies fully inside at least one configured window for {@code buildingId}.
+     * lies fully inside at least one configured window for {@code buildingId}. Adjacent windows
+     * (08-12 and 12-18) are not joined: a booking over 12:00 fits neither.
      */
-    @Transactional(readOnly = true)
     public boolean isBookingWithinBuildingHours(Long buildingId, LocalDateTime start, LocalDateTime end) {
         if (buildingId == null || start == null || end == null || !end.isAfter(start)) {
             return true;
         }
+        Map<DayOfWeek, Day> week = table().get(buildingId);
+        // No rows for this building → do not restrict (tests, legacy DBs without seed)
+        if (week == null) {
+            return true;
+        }
         LocalDate day = start.toLocalDate();
         LocalDate last = end.toLocalDate();
-        while (!day.isAfter(last)) {
-            DayOfWeek dow = day.getDayOfWeek();
+        // The first day plus seven whole days cover every weekday entirely; later days add nothing
+        for (int days = 0; !day.isAfter(last) && days < 8; days++) {
             LocalTime segStart = day.equals(start.toLocalDate()) ? start.toLocalTime() : LocalTime.MIN;
-            LocalTime segEnd = day.equals(end.toLocalDate()) ? end.toLocalTime() : LocalTime.of(23, 59, 59, 999_999_999);
-            if (!segmentCovered(buildingId, dow, segStart, segEnd)) {
+            LocalTime segEnd = day.equals(end.toLocalDate()) ? end.toLocalTime() : END_OF_DAY;
+            if (!segmentCovered(week.get(day.getDayOfWeek()), segStart, segEnd)) {
                 return false;
             }
             day = day.plusDays(1);
@@ -43,13 +119,40 @@ public class BuildingTimetableService {
         return true;
     }
 
-    private boolean segmentCovered(Long buildingId, DayOfWeek dow, LocalTime segStart, LocalTime segEnd) {
-        List<BuildingTimetable> rows = buildingTimetableRepository.findByBuilding_IdAndDayOfWeekOrderByStartTimeAsc(buildingId, dow);
-        // No rows for this building/day → do not restrict (tests, legacy DBs without seed)
-        if (rows.isEmpty()) {
-            return true;
+    private static boolean segmentCovered(Day windows, LocalTime segStart, LocalTime segEnd) {
+        // No rows for this building/day → do not restrict
+        return windows == null || windows.covers(segStart, segEnd);
+    }
+
+    private Map<Long, Map<DayOfWeek, Day>> table() {
+        Map<Long, Map<DayOfWeek, Day>> current = hours;
+        if (current != null) return current;
+        synchronized (this) {
+            if (hours != null) return hours;
+            // Loading under the lock makes a concurrent invalidate() wait, so it always lands after
+            hours = build(buildingTimetableRepository.findAll());
+            log.info("Building hours loaded for {} buildings", hours.size());
+            return hours;
+        }
+    }
+
+    static Map<Long, Map<DayOfWeek, Day>> build(List<BuildingTimetable> rows) {
+        Map<Long, Map<DayOfWeek, List<Window>>> raw = new HashMap<>();
+        for (BuildingTimetable r : rows) {
+            if (r.getBuilding() == null || r.getBuilding().getId() == null || r.getDayOfWeek() == null
+                    || r.getStartTime() == null || r.getEndTime() == null) {
+                continue;
+            }
+            raw.computeIfAbsent(r.getBuilding().getId(), k -> new EnumMap<>(DayOfWeek.class))
+                    .computeIfAbsent(r.getDayOfWeek(), k -> new ArrayList<>())
+                    .add(new Window(r.getStartTime(), r.getEndTime()));
         }
-        return rows.stream().anyMatch(r ->
-                !r.getStartTime().isAfter(segStart) && !r.getEndTime().isBefore(segEnd));
+        Map<Long, Map<DayOfWeek, Day>> out = new HashMap<>();
+        raw.forEach((buildingId, week) -> {
+            Map<DayOfWeek, Day> days = new EnumMap<>(DayOfWeek.class);
+            week.forEach((day, windows) -> days.put(day, Day.of(windows)));
+            out.put(buildingId, Collections.unmodifiableMap(days));
+        });
+        return Map.copyOf(out);
     }
 }
@@ -1,65 +1,125 @@
 package com.campus.event.service;
 
-import com.campus.event.domain.Event;
-import com.campus.event.domain.RoomBookingRequest;
-import com.campus.event.domain.RoomBookingStatus;
-import com.campus.event.repository.EventRepository;
-import com.campus.event.repository.RoomBookingRequestRepository;
-import com.campus.event.repository.UserRepository;
+import com.campus.event.web.PublicResponseCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
+/**
+ * Confirms APPROVED event bookings in chunks. Each chunk is one short transaction in
+ * {@link BookingConfirmationBatch}; the run walks the requests in id order until a chunk comes back
+ * short, and records how many rows it confirmed, how fast, and how long the oldest one had waited.
+ * <p>
+ * When a chunk fails, its window is retried one request at a time and the requests that still fail
+ * are skipped for this run, so one bad row neither stops the run nor blocks later ones.
+ */
 @Component
 public class ConfirmBookingScheduler {
     private static final Logger log = LoggerFactory.getLogger(ConfirmBookingScheduler.class);
 
-    private final RoomBookingRequestRepository requestRepo;
-    private final EventRepository eventRepo;
-    private final UserRepository userRepository;
-    private final NotificationService notificationService;
+    /** Metrics of one scheduler run. */
+    public record RunStats(LocalDateTime startedAt, int confirmed, int chunks, long durationMs,
+                           double confirmedPerSecond, long maxLagSeconds) {
+    }
+
+    private final BookingConfirmationBatch batch;
+    private final PublicResponseCache publicResponseCache;
+
+    @Value("${app.bookings.confirm.chunkSize:200}")
+    private int chunkSize = 200;
+
+    private volatile RunStats lastRun;
 
-    public ConfirmBookingScheduler(RoomBookingRequestRepository requestRepo, EventRepository eventRepo,
-                                   UserRepository userRepository, NotificationService notificationService) {
-        this.requestRepo = requestRepo;
-        this.eventRepo = eventRepo;
-        this.userRepository = userRepository;
-        this.notificationService = notificationService;
+    public ConfirmBookingScheduler(BookingConfirmationBatch batch, PublicResponseCache publicResponseCache) {
+        this.batch = batch;
+        this.publicResponseCache = publicResponseCache;
     }
 
     // Run hourly at minute 0
     @Scheduled(cron = "0 0 * * * *")
     public void confirmApprovedBookings() {
-        LocalDateTime cutoff = LocalDateTime.now().plusDays(2);
-        List<RoomBookingRequest> toConfirm = requestRepo.findApprovedToConfirm(cutoff);
-        for (RoomBookingRequest r : toConfirm) {
-            try {
-                if (r.getAllocatedRoom() == null) continue;
-                Event evt = r.getEvent();
-                if (evt == null) continue;
-                // Update event location from allocated room
-                if (evt.getLocation() == null || "TBD".equalsIgnoreCase(evt.getLocation())) {
-                    evt.setLocation(r.getAllocatedRoom().getName());
-                    eventRepo.save(evt);
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime cutoff = startedAt.plusDays(2);
+        long t0 = System.nanoTime();
+        int confirmed = 0;
+        int chunks = 0;
+        long maxLag = 0;
+        long afterId = 0;
+        try {
+            while (true) {
+                BookingConfirmationBatch.Chunk chunk;
+                boolean full;
+                try {
+                    chunk = batch.confirmChunk(cutoff, afterId, chunkSize);
+                    full = chunk.confirmed() == chunkSize;
+                } catch (Exception e) {
+                    log.warn("Booking confirmation chunk after id {} failed, retrying one by one: {}", afterId, e.getMessage());
+                    chunk = confirmOneByOne(cutoff, afterId);
+                    full = chunk.lastId() > afterId;
                 }
-                r.setStatus(RoomBookingStatus.CONFIRMED);
-                r.setConfirmedAt(LocalDateTime.now());
-                requestRepo.save(r);
-                log.info("Confirmed room for event {} (request {})", evt.getId(), r.getId());
-                if (r.getRequestedByUsername() != null) {
-                    userRepository.findByUsername(r.getRequestedByUsername()).ifPresent(u -> {
-                        String subj = "Room booking confirmed";
-                        String msg = "Your room booking request (ID " + r.getId() + ") is now CONFIRMED for room '" + r.getAllocatedRoom().getName() + "'.";
-                        notificationService.notifyAllChannels(u, subj, msg);
-                    });
+                if (chunk.confirmed() > 0) {
+                    chunks++;
+                    confirmed += chunk.confirmed();
+                    maxLag = Math.max(maxLag, chunk.maxLagSeconds());
+                    // The bulk update skipped entity listeners; drop cached detail of relocated events
+                    chunk.eventIds().forEach(id -> publicResponseCache.invalidate(PublicResponseCache.eventKey(id)));
                 }
+                if (!full) break;
+                afterId = chunk.lastId();
+            }
+        } catch (Exception e) {
+            log.warn("Booking confirmation run stopped after {} confirmations: {}", confirmed, e.getMessage());
+        }
+        long durationMs = (System.nanoTime() - t0) / 1_000_000;
+        double perSecond = durationMs > 0 ? confirmed * 1000.0 / durationMs : confirmed;
+        lastRun = new RunStats(startedAt, confirmed, chunks, durationMs, perSecond, maxLag);
+        if (confirmed > 0) {
+            log.info("Confirmed {} room bookings in {} chunks, {} ms ({} /s), max lag {} s",
+                    confirmed, chunks, durationMs, String.format("%.1f", perSecond), maxLag);
+        }
+    }
+
+    /**
+     * Retries the window of a failed chunk one request per transaction, skipping the ones that fail
+     * again. Throws when every attempt fails, which points at the database rather than a row.
+     */
+    private BookingConfirmationBatch.Chunk confirmOneByOne(LocalDateTime cutoff, long afterId) {
+        int confirmed = 0;
+        long maxLag = 0;
+        Set<Long> eventIds = new HashSet<>();
+        long cursor = afterId;
+        int attempted = 0;
+        int failed = 0;
+        while (attempted < chunkSize) {
+            Long next = batch.nextCandidateId(cutoff, cursor);
+            if (next == null) break;
+            attempted++;
+            try {
+                BookingConfirmationBatch.Chunk one = batch.confirmChunk(cutoff, next - 1, 1);
+                confirmed += one.confirmed();
+                maxLag = Math.max(maxLag, one.maxLagSeconds());
+                eventIds.addAll(one.eventIds());
+                cursor = Math.max(next, one.lastId());
             } catch (Exception e) {
-                log.warn("Failed to confirm booking request {}: {}", r.getId(), e.getMessage());
+                failed++;
+                log.warn("Skipping booking request {} in this confirmation run: {}", next, e.getMessage());
+                cursor = next;
             }
         }
+        if (attempted > 0 && failed == attempted) {
+            throw new IllegalStateException("all " + attempted + " single-row confirmations failed");
+        }
+        return new BookingConfirmationBatch.Chunk(confirmed, maxLag, eventIds, cursor);
+    }
+
+    /** Metrics of the most recent run, or null before the first one. */
+    public RunStats getLastRun() {
+        return lastRun;
     }
 }
@@ -0,0 +1,203 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.Event;
+import com.campus.event.domain.EventRegistration;
+import com.campus.event.domain.EventWaitlistEntry;
+import com.campus.event.domain.User;
+import com.campus.event.repository.EventRegistrationRepository;
+import com.campus.event.repository.EventRepository;
+import com.campus.event.repository.EventWaitlistRepository;
+import com.campus.event.repository.RegistrationRepository;
+import com.campus.event.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates and cancels {@link EventRegistration}s. Seats are taken through {@link EventSeatService};
+ * for flash-sale events, queued admissions are confirmed in batches and overflow goes to the
+ * waitlist, which is promoted in order when a registration is cancelled.
+ * <p>
+ * A registration is one insert; its side effects (announcement backfill, legacy table sync,
+ * confirmation notification) follow from the {@link RegistrationCreated} event after commit.
+ */
+@Service
+public class EventRegistrationService {
+    private static final Logger log = LoggerFactory.getLogger(EventRegistrationService.class);
+
+    public enum Outcome { CONFIRMED, WAITLISTED, ALREADY_REGISTERED, REJECTED }
+
+    /** One queued registration request of a flash-sale event. */
+    public record Admission(String ticketId, Long userId, String fullName) {
+    }
+
+    /** What happened to an admission; {@code waitlistPosition} is set for WAITLISTED. */
+    public record AdmissionResult(String ticketId, Outcome outcome, Long registrationId, Long waitlistPosition) {
+    }
+
+    private final EventRepository eventRepository;
+    private final EventRegistrationRepository registrationRepository;
+    private final RegistrationRepository legacyRegistrationRepository;
+    private final UserRepository userRepository;
+    private final EventWaitlistRepository waitlistRepository;
+    private final EventSeatService seatService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public EventRegistrationService(EventRepository eventRepository,
+                                    EventRegistrationRepository registrationRepository,
+                                    RegistrationRepository legacyRegistrationRepository,
+                                    UserRepository userRepository,
+                                    EventWaitlistRepository waitlistRepository,
+                                    EventSeatService seatService,
+                                    ApplicationEventPublisher eventPublisher) {
+        this.eventRepository = eventRepository;
+        this.registrationRepository = registrationRepository;
+        this.legacyRegistrationRepository = legacyRegistrationRepository;
+        this.userRepository = userRepository;
+        this.waitlistRepository = waitlistRepository;
+        this.seatService = seatService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Inserts the registration of a user who already holds a seat. A waitlist entry the user still
+     * has for the event is dropped, so it cannot later be promoted into a second registration.
+     */
+    @Transactional
+    public EventRegistration register(Event event, User user, String fullName) {
+        EventRegistration reg = insert(event, user, fullName);
+        waitlistRepository.findByEventIdAndUserId(event.getId(), user.getId())
+                .ifPresent(waitlistRepository::delete);
+        return reg;
+    }
+
+    private EventRegistration insert(Event event, User user, String fullName) {
+        EventRegistration reg = new EventRegistration();
+        reg.setEvent(event);
+        reg.setUser(user);
+        registrationRepository.save(reg);
+        eventPublisher.publishEvent(new RegistrationCreated(reg.getId(), event.getId(), user.getId(), fullName));
+        return reg;
+    }
+
+    /**
+     * Confirms a batch of queued admissions for one event in one transaction: already-registered
+     * users are skipped, seats are taken while they last, and the rest join the waitlist.
+     */
+    @Transactional
+    public List<AdmissionResult> admitBatch(Long eventId, List<Admission> admissions) {
+        Event event = eventRepository.findById(eventId).orElse(null);
+        if (event == null) {
+            return admissions.stream()
+                    .map(a -> new AdmissionResult(a.ticketId(), Outcome.REJECTED, null, null))
+                    .collect(Collectors.toList());
+        }
+        Set<Long> userIds = admissions.stream().map(Admission::userId).collect(Collectors.toSet());
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Set<Long> registered = new HashSet<>(registrationRepository.findRegisteredUserIds(eventId, userIds));
+
+        List<AdmissionResult> results = new ArrayList<>(admissions.size());
+        Map<Long, AdmissionResult> seen = new HashMap<>();
+        for (Admission a : admissions) {
+            User user = users.get(a.userId());
+            if (user == null) {
+                results.add(new AdmissionResult(a.ticketId(), Outcome.REJECTED, null, null));
+            } else if (registered.contains(a.userId())) {
+                AdmissionResult earlier = seen.get(a.userId());
+                results.add(new AdmissionResult(a.ticketId(), Outcome.ALREADY_REGISTERED,
+                        earlier != null ? earlier.registrationId() : null, null));
+            } else if (seatService.tryReserve(event)) {
+                EventRegistration reg = register(event, user, a.fullName());
+                registered.add(a.userId());
+                AdmissionResult r = new AdmissionResult(a.ticketId(), Outcome.CONFIRMED, reg.getId(), null);
+                seen.put(a.userId(), r);
+                results.add(r);
+            } else {
+                EventWaitlistEntry entry = waitlistRepository.findByEventIdAndUserId(eventId, a.userId())
+                        .orElseGet(() -> {
+                            EventWaitlistEntry e = new EventWaitlistEntry();
+                            e.setEventId(eventId);
+                            e.setUserId(a.userId());
+                            e.setFullName(a.fullName());
+                            return waitlistRepository.save(e);
+                        });
+                long position = waitlistRepository.countByEventIdAndIdLessThanEqual(eventId, entry.getId());
+                results.add(new AdmissionResult(a.ticketId(), Outcome.WAITLISTED, null, position));
+            }
+        }
+        return results;
+    }
+
+    /** Id of the registration of {@code userId} for the event, if registered. */
+    @Transactional(readOnly = true)
+    public Optional<Long> registrationId(Long eventId, Long userId) {
+        return registrationRepository.findByEvent_IdAndUser_Id(eventId, userId).map(EventRegistration::getId);
+    }
+
+    /** 1-based waitlist position of {@code userId}, if waitlisted. */
+    @Transactional(readOnly = true)
+    public Optional<Long> waitlistPosition(Long eventId, Long userId) {
+        return waitlistRepository.findByEventIdAndUserId(eventId, userId)
+                .map(e -> waitlistRepository.countByEventIdAndIdLessThanEqual(eventId, e.getId()));
+    }
+
+    /**
+     * Cancels the registration of {@code username} (or removes them from the waitlist) and gives
+     * the freed seat to the head of the waitlist. Returns false when there was nothing to cancel.
+     */
+    @Transactional
+    public boolean cancel(Long eventId, String username) {
+        Optional<EventRegistration> existing = registrationRepository.findByEvent_IdAndUser_Username(eventId, username);
+        if (existing.isEmpty()) {
+            Optional<EventWaitlistEntry> waiting = userRepository.findByUsername(username)
+                    .flatMap(u -> waitlistRepository.findByEventIdAndUserId(eventId, u.getId()));
+            waiting.ifPresent(waitlistRepository::delete);
+            return waiting.isPresent();
+        }
+        EventRegistration reg = existing.get();
+        Event event = reg.getEvent();
+        User user = reg.getUser();
+        registrationRepository.delete(reg);
+        if (user != null && user.getEmail() != null) {
+            legacyRegistrationRepository.deleteByEventIdAndEmail(eventId, user.getEmail());
+        }
+        seatService.release(eventId);
+        promoteFromWaitlist(event);
+        return true;
+    }
+
+    /**
+     * Gives a free seat to the head of the waitlist. The entry is only removed once its holder is
+     * registered; if no seat can be taken it keeps its place. Entries of deleted users, and of users
+     * who got a seat another way, are dropped.
+     */
+    private void promoteFromWaitlist(Event event) {
+        Optional<EventWaitlistEntry> head;
+        while ((head = waitlistRepository.findFirstByEventIdOrderByIdAsc(event.getId())).isPresent()) {
+            EventWaitlistEntry entry = head.get();
+            User user = userRepository.findById(entry.getUserId()).orElse(null);
+            if (user == null || registrationRepository.existsByEvent_IdAndUser_Id(event.getId(), user.getId())) {
+                waitlistRepository.delete(entry);
+                continue;
+            }
+            if (!seatService.tryReserve(event)) return;
+            insert(event, user, entry.getFullName());
+            waitlistRepository.delete(entry);
+            log.info("Promoted user {} from the waitlist of event {}", user.getId(), event.getId());
+            return;
+        }
+    }
+}
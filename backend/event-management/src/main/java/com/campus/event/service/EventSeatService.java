@@ -0,0 +1,80 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.Event;
+import com.campus.event.repository.EventSeatCounterRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Seat reservation for event registrations. The {@code event_seat_counters} row is the source of
+ * truth: a seat is taken with one conditional update, so two registrations can never both get the
+ * last seat, and the cost does not grow with the number of registrations.
+ * <p>
+ * In front of it sits an in-process sold-out cache (a {@link ConcurrentHashMap}, which stripes its
+ * locks per bin) so that once an event is full further attempts are refused without touching the
+ * database. An entry remembers the capacity it sold out at; raising {@code maxAttendees} or
+ * releasing a seat makes the next attempt go back to the database.
+ */
+@Service
+public class EventSeatService {
+
+    private final EventSeatCounterRepository counterRepository;
+    private final Map<Long, Integer> soldOutAt = new ConcurrentHashMap<>();
+
+    public EventSeatService(EventSeatCounterRepository counterRepository) {
+        this.counterRepository = counterRepository;
+    }
+
+    /**
+     * Takes a seat for {@code event} in the caller's transaction, so a rolled-back registration
+     * gives it back. Events without a limit are still counted, keeping the counter exact if a
+     * limit is set later. Returns false when the event is full.
+     */
+    @Transactional
+    public boolean tryReserve(Event event) {
+        Long eventId = event.getId();
+        int max = event.getMaxAttendees() != null && event.getMaxAttendees() > 0
+                ? event.getMaxAttendees() : Integer.MAX_VALUE;
+        Integer fullAt = soldOutAt.get(eventId);
+        if (fullAt != null && fullAt >= max) {
+            return false;
+        }
+        int taken = counterRepository.takeSeat(eventId, max);
+        if (taken == 0) {
+            // Maybe full, maybe no counter yet (events from before it existed). Create it from the
+            // current count and try again whatever initialize returned: a concurrent first
+            // registration may have created it, and then it can still have room
+            counterRepository.initialize(eventId);
+            taken = counterRepository.takeSeat(eventId, max);
+        }
+        if (taken == 0) {
+            soldOutAt.put(eventId, max);
+            return false;
+        }
+        return true;
+    }
+
+    /** Gives a seat back after a registration is removed. */
+    @Transactional
+    public void release(Long eventId) {
+        counterRepository.releaseSeat(eventId);
+        // Now, so a promotion in this transaction can use the seat; and again after commit, in case
+        // a concurrent attempt re-marked the event full before the seat was back
+        soldOutAt.remove(eventId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    soldOutAt.remove(eventId);
+                }
+            });
+        } else {
+            soldOutAt.remove(eventId);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.campus.event.domain.EventTimingModel;
 import com.campus.event.domain.User;
 import com.campus.event.repository.EventRegistrationRepository;
 import com.campus.event.repository.EventRepository;
+import com.campus.event.repository.EventSeatCounterRepository;
 import com.campus.event.repository.EventTimeSlotRepository;
 import com.campus.event.repository.NotificationDeliveryRepository;
 import com.campus.event.repository.NotificationMessageRepository;
@@ -24,6 +25,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
 @Service
@@ -39,6 +41,8 @@ public class EventService {
     private final NotificationThreadRepository notificationThreadRepository;
     private final NotificationDeliveryRepository notificationDeliveryRepository;
     private final NotificationMessageRepository notificationMessageRepository;
+    private final EventSeatCounterRepository seatCounterRepository;
+    private final RoomBookingWriter roomBookingWriter;
 
     @Autowired
     public EventService(EventRepository eventRepository,
@@ -50,7 +54,9 @@ public class EventService {
                         ThreadMessageRepository threadMessageRepository,
                         NotificationThreadRepository notificationThreadRepository,
                         NotificationDeliveryRepository notificationDeliveryRepository,
-                        NotificationMessageRepository notificationMessageRepository) {
+                        NotificationMessageRepository notificationMessageRepository,
+                        EventSeatCounterRepository seatCounterRepository,
+                        RoomBookingWriter roomBookingWriter) {
         this.eventRepository = eventRepository;
         this.eventRegistrationRepository = eventRegistrationRepository;
         this.registrationRepository = registrationRepository;
@@ -61,6 +67,8 @@ public class EventService {
         this.notificationThreadRepository = notificationThreadRepository;
         this.notificationDeliveryRepository = notificationDeliveryRepository;
         this.notificationMessageRepository = notificationMessageRepository;
+        this.seatCounterRepository = seatCounterRepository;
+        this.roomBookingWriter = roomBookingWriter;
     }
 
     // Backward-compatible constructor for existing unit tests
@@ -70,13 +78,77 @@ public class EventService {
                         EventTimeSlotRepository eventTimeSlotRepository,
                         NotificationService notificationService) {
         this(eventRepository, eventRegistrationRepository, registrationRepository, eventTimeSlotRepository,
-                notificationService, null, null, null, null, null);
+                notificationService, null, null, null, null, null, null, null);
     }
 
     public List<Event> getPublicEvents() {
         return eventRepository.findByIsPublicTrue();
     }
 
+    public static final int MAX_FEED_PAGE_SIZE = 100;
+    // Open ends of the feed's time range; both fit a Postgres timestamp
+    private static final LocalDateTime FEED_MIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime FEED_MAX = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    /** A page of the public event feed; {@code nextCursor} is null on the last page. */
+    public record EventFeedPage(List<EventRepository.PublicEventRow> items, String nextCursor) {
+    }
+
+    /**
+     * Keyset-paginated public events. Upcoming events (start at or after now) are returned soonest
+     * first, past events most recent first; {@code from}/{@code to} narrow the start-time range.
+     * The cursor is the opaque {@code (startTime, id)} of the last row of the previous page.
+     */
+    @Transactional(readOnly = true)
+    public EventFeedPage getPublicEventFeed(boolean past, LocalDateTime from, LocalDateTime to,
+                                            Long buildingId, String clubId, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_FEED_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_FEED_PAGE_SIZE);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        String club = clubId != null && !clubId.isBlank() ? clubId : null;
+        org.springframework.data.domain.Pageable page = org.springframework.data.domain.PageRequest.of(0, limit + 1);
+        FeedCursor after = cursor != null && !cursor.isBlank() ? FeedCursor.decode(cursor) : null;
+
+        List<EventRepository.PublicEventRow> rows;
+        if (past) {
+            LocalDateTime upper = to != null && to.isBefore(now) ? to : now;
+            FeedCursor c = after != null ? after : new FeedCursor(upper, 0L);
+            rows = eventRepository.findPublicFeedDescending(c.startTime(), c.id(),
+                    from != null ? from : FEED_MIN, buildingId, club, page);
+        } else {
+            LocalDateTime lower = from != null && from.isAfter(now) ? from : now;
+            FeedCursor c = after != null ? after : new FeedCursor(lower, 0L);
+            rows = eventRepository.findPublicFeedAscending(c.startTime(), c.id(),
+                    to != null ? to : FEED_MAX, buildingId, club, page);
+        }
+
+        if (rows.size() <= limit) {
+            return new EventFeedPage(rows, null);
+        }
+        List<EventRepository.PublicEventRow> items = rows.subList(0, limit);
+        EventRepository.PublicEventRow last = items.get(limit - 1);
+        return new EventFeedPage(items, new FeedCursor(last.getStartTime(), last.getId()).encode());
+    }
+
+    record FeedCursor(LocalDateTime startTime, Long id) {
+        String encode() {
+            String raw = startTime + "|" + id;
+            return java.util.Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(raw.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+        }
+
+        static FeedCursor decode(String cursor) {
+            try {
+                String raw = new String(java.util.Base64.getUrlDecoder().decode(cursor), java.nio.charset.StandardCharsets.UTF_8);
+                int sep = raw.indexOf('|');
+                return new FeedCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+
     /**
      * Original single-day create (backward compatible).
      */
@@ -128,6 +200,10 @@ public class EventService {
         event.setTimingModel(timingModel);
 
         Event saved = eventRepository.save(event);
+        // Open the seat counter now so registrations never have to create it
+        if (seatCounterRepository != null) {
+            seatCounterRepository.initialize(saved.getId());
+        }
 
         // Generate time slots based on timing model
         List<EventTimeSlot> slots = generateTimeSlots(saved, timingModel, explicitSlots);
@@ -197,6 +273,62 @@ public class EventService {
         return slots;
     }
 
+    /**
+     * Applies an edit to an event. When its times change, the booking windows of its room requests
+     * move in the same transaction; if that would overlap another booking of the room, the whole
+     * edit is rolled back with a {@link BookingConflictException}. Registrants are notified of
+     * changes to the title, times or location.
+     */
+    @Transactional
+    public Event updateEvent(Long eventId, String title, String description, LocalDateTime start, LocalDateTime end,
+                             Building building, String location, String clubId,
+                             String registrationSchema, Integer maxAttendees) {
+        Event existing = eventRepository.findById(eventId)
+                .orElseThrow(() -> new IllegalArgumentException("Event not found"));
+
+        String oldTitle = existing.getTitle();
+        LocalDateTime oldStart = existing.getStartTime();
+        LocalDateTime oldEnd = existing.getEndTime();
+        String oldLocation = existing.getLocation();
+
+        existing.setTitle(title);
+        existing.setDescription(description);
+        existing.setStartTime(start);
+        existing.setEndTime(end);
+        existing.setBuilding(building);
+        existing.setLocation(location);
+        if (clubId != null && !clubId.isBlank()) {
+            existing.setClubId(clubId);
+        }
+        existing.setRegistrationSchema(registrationSchema);
+        existing.setMaxAttendees(maxAttendees);
+        eventRepository.save(existing);
+        if (roomBookingWriter != null
+                && (!Objects.equals(oldStart, start) || !Objects.equals(oldEnd, end))) {
+            roomBookingWriter.moveEventWindow(existing.getId(), start, end);
+        }
+
+        // Notify registrants about updates
+        List<EventRegistration> regs = eventRegistrationRepository.findByEvent_Id(existing.getId());
+        if (!regs.isEmpty()) {
+            boolean changed = (oldTitle != null && !oldTitle.equals(existing.getTitle()))
+                    || (oldStart != null && !oldStart.equals(existing.getStartTime()))
+                    || (oldEnd != null && !oldEnd.equals(existing.getEndTime()))
+                    || (oldLocation != null && !oldLocation.equals(existing.getLocation()));
+            if (changed) {
+                String subject = "Event updated: " + existing.getTitle();
+                String body = "Event details updated. Title: " + existing.getTitle() + ", Start: " + existing.getStartTime() +
+                        ", End: " + existing.getEndTime() + ", Location: " + existing.getLocation();
+                for (EventRegistration r : regs) {
+                    if (r.getUser() != null) {
+                        notificationService.notifyAllChannels(r.getUser(), subject, body);
+                    }
+                }
+            }
+        }
+        return existing;
+    }
+
     @Transactional
     public void deleteEvent(Long eventId, String username) {
         Event event = eventRepository.findById(eventId)
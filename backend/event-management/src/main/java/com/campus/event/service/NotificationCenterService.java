@@ -2,17 +2,22 @@ package com.campus.event.service;
 
 import com.campus.event.domain.*;
 import com.campus.event.repository.*;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class NotificationCenterService {
+    private static final Logger log = LoggerFactory.getLogger(NotificationCenterService.class);
+
     private final NotificationMessageRepository messageRepository;
     private final NotificationDeliveryRepository deliveryRepository;
     private final NotificationThreadRepository threadRepository;
@@ -20,6 +25,7 @@ public class NotificationCenterService {
     private final EventRegistrationRepository registrationRepository;
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
+    private final BroadcastFanoutService broadcastFanoutService;
 
     public NotificationCenterService(NotificationMessageRepository messageRepository,
                                      NotificationDeliveryRepository deliveryRepository,
@@ -27,7 +33,8 @@ public class NotificationCenterService {
                                      ThreadMessageRepository threadMessageRepository,
                                      EventRegistrationRepository registrationRepository,
                                      UserRepository userRepository,
-                                     EventRepository eventRepository) {
+                                     EventRepository eventRepository,
+                                     BroadcastFanoutService broadcastFanoutService) {
         this.messageRepository = messageRepository;
         this.deliveryRepository = deliveryRepository;
         this.threadRepository = threadRepository;
@@ -35,10 +42,7 @@ public class NotificationCenterService {
         this.registrationRepository = registrationRepository;
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
-    }
-
-    public List<NotificationDelivery> getDeliveriesForUser(String username) {
-        return deliveryRepository.findInboxByUsernameWithNotification(username);
+        this.broadcastFanoutService = broadcastFanoutService;
     }
 
     @Transactional
@@ -52,22 +56,36 @@ public class NotificationCenterService {
         nm.setCreatedBy(createdBy);
         nm = messageRepository.save(nm);
 
-        // fan-out to all users (synchronous for MVP)
-        List<User> users = userRepository.findAll();
-        List<NotificationDelivery> deliveries = new ArrayList<>();
-        for (User u : users) {
-            NotificationDelivery d = new NotificationDelivery();
-            d.setNotification(nm);
-            d.setUser(u);
-            d.setDeliveryStatus(NotificationStatus.PENDING);
-            deliveries.add(d);
+        // Deliveries are inserted in chunks off the request thread once the message is committed
+        final Long notificationId = nm.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    startFanout(notificationId);
+                }
+            });
+        } else {
+            startFanout(notificationId);
         }
-        deliveryRepository.saveAll(deliveries);
         return nm;
     }
 
+    private void startFanout(Long notificationId) {
+        try {
+            broadcastFanoutService.fanOut(notificationId);
+        } catch (TaskRejectedException e) {
+            // The message is committed; BroadcastFanoutService.resumeUnfinished picks it up later
+            log.warn("Fan-out of broadcast {} deferred, executor is full: {}", notificationId, e.getMessage());
+        }
+    }
+
+    /** A created event notification and the number of registrants it reaches. */
+    public record EventNotificationResult(NotificationMessage notification, long recipients) {
+    }
+
     @Transactional
-    public NotificationMessage createEventNotification(Long eventId, String title, String message, Urgency urgency, boolean threadEnabled, User createdBy) {
+    public EventNotificationResult createEventNotification(Long eventId, String title, String message, Urgency urgency, boolean threadEnabled, User createdBy) {
         Event ev = eventRepository.findById(eventId).orElseThrow(() -> new IllegalArgumentException("Event not found"));
         NotificationMessage nm = new NotificationMessage();
         nm.setTitle(title);
@@ -79,18 +97,9 @@ public class NotificationCenterService {
         nm.setCreatedBy(createdBy);
         nm = messageRepository.save(nm);
 
-        List<String> usernames = registrationRepository.findUsernamesByEventId(eventId);
-        List<NotificationDelivery> deliveries = new ArrayList<>();
-        for (String username : usernames) {
-            User u = userRepository.findByUsername(username).orElseThrow(() -> new UsernameNotFoundException(username));
-            NotificationDelivery d = new NotificationDelivery();
-            d.setNotification(nm);
-            d.setUser(u);
-            d.setDeliveryStatus(NotificationStatus.PENDING);
-            deliveries.add(d);
-        }
-        deliveryRepository.saveAll(deliveries);
-        return nm;
+        // No per-registrant rows: inboxes read the event's messages at query time, and a delivery is
+        // only created once a registrant reads or mutes the message
+        return new EventNotificationResult(nm, registrationRepository.countByEvent_Id(eventId));
     }
 
     @Transactional
@@ -103,6 +112,41 @@ public class NotificationCenterService {
         return deliveryRepository.save(d);
     }
 
+    /** Marks a message read for the user, creating their delivery on first interaction. */
+    @Transactional
+    public NotificationDelivery markNotificationRead(Long notificationId, String username, boolean admin) {
+        NotificationDelivery d = materializeDelivery(notificationId, username, admin);
+        if (d.getReadAt() == null) {
+            d.setReadAt(LocalDateTime.now());
+        }
+        return deliveryRepository.save(d);
+    }
+
+    /** Mutes or unmutes a message for the user, creating their delivery on first interaction. */
+    @Transactional
+    public NotificationDelivery muteNotification(Long notificationId, String username, boolean admin, boolean mute) {
+        NotificationDelivery d = materializeDelivery(notificationId, username, admin);
+        d.setMuted(mute);
+        return deliveryRepository.save(d);
+    }
+
+    private NotificationDelivery materializeDelivery(Long notificationId, String username, boolean admin) {
+        Optional<NotificationDelivery> existing = deliveryRepository.findByNotification_IdAndUser_Username(notificationId, username);
+        if (existing.isPresent()) return existing.get();
+        NotificationMessage nm = messageRepository.findById(notificationId).orElseThrow(() -> new IllegalArgumentException("Notification not found"));
+        User user = userRepository.findByUsername(username).orElseThrow(() -> new IllegalArgumentException("User not found"));
+        Event ev = nm.getEvent();
+        boolean allowed = ev == null
+                ? nm.getOrigin() == NotificationOrigin.GLOBAL
+                : admin
+                    || (ev.getCreatedBy() != null && username.equals(ev.getCreatedBy().getUsername()))
+                    || registrationRepository.existsByEvent_IdAndUser_Username(ev.getId(), username);
+        if (!allowed) throw new SecurityException("Not allowed");
+        deliveryRepository.insertDeliveryIfAbsent(notificationId, user.getId(), LocalDateTime.now());
+        return deliveryRepository.findByNotification_IdAndUser_Username(notificationId, username)
+                .orElseThrow(() -> new IllegalStateException("Delivery not created"));
+    }
+
     @Transactional
     public NotificationDelivery muteDelivery(Long deliveryId, String username, boolean mute) {
         NotificationDelivery d = deliveryRepository.findById(deliveryId).orElseThrow(() -> new IllegalArgumentException("Delivery not found"));
@@ -0,0 +1,97 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.Notification;
+import com.campus.event.domain.NotificationStatus;
+import com.campus.event.domain.NotificationType;
+import com.campus.event.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Outbox of EMAIL / SMS rows in the notifications table. Rows are claimed by moving them to
+ * SENDING under a lease; a row whose worker dies becomes claimable again once the lease expires.
+ * Failed attempts are retried with exponential backoff until {@code maxAttempts} is reached.
+ */
+@Service
+public class NotificationOutbox {
+    private static final Set<NotificationStatus> CLAIMABLE = Set.of(NotificationStatus.PENDING, NotificationStatus.SENDING);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    /** A claimed outbound notification, detached from the persistence context. */
+    public record OutboundMessage(Long id, NotificationType type, String to, String subject, String message, int attempts) {
+    }
+
+    private final NotificationRepository notificationRepository;
+
+    @Value("${app.notifications.outbox.maxAttempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${app.notifications.outbox.baseBackoffSeconds:30}")
+    private long baseBackoffSeconds = 30;
+
+    @Value("${app.notifications.outbox.maxBackoffSeconds:3600}")
+    private long maxBackoffSeconds = 3600;
+
+    @Value("${app.notifications.outbox.leaseSeconds:300}")
+    private long leaseSeconds = 300;
+
+    public NotificationOutbox(NotificationRepository notificationRepository) {
+        this.notificationRepository = notificationRepository;
+    }
+
+    /** Claims up to {@code limit} due rows of one channel. */
+    @Transactional
+    public List<OutboundMessage> claimDue(NotificationType type, int limit) {
+        if (limit <= 0) return List.of();
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> due = notificationRepository.lockDueOutbound(Set.of(type), CLAIMABLE, now, PageRequest.of(0, limit));
+        if (due.isEmpty()) return List.of();
+
+        Map<Long, NotificationRepository.OutboundRecipient> recipients = notificationRepository
+                .findOutboundRecipients(due.stream().map(Notification::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(NotificationRepository.OutboundRecipient::getId, r -> r));
+
+        LocalDateTime leaseUntil = now.plusSeconds(leaseSeconds);
+        List<OutboundMessage> claimed = new ArrayList<>(due.size());
+        for (Notification n : due) {
+            n.setStatus(NotificationStatus.SENDING);
+            n.setNextAttemptAt(leaseUntil);
+            NotificationRepository.OutboundRecipient r = recipients.get(n.getId());
+            String to = r == null ? null : (n.getType() == NotificationType.EMAIL ? r.getEmail() : r.getPhoneNumber());
+            claimed.add(new OutboundMessage(n.getId(), n.getType(), to, n.getSubject(), n.getMessage(), n.getAttempts()));
+        }
+        return claimed;
+    }
+
+    public void recordSent(OutboundMessage m) {
+        notificationRepository.markSent(m.id(), LocalDateTime.now());
+    }
+
+    /** Schedules a retry, or marks the row FAILED when the error is permanent or attempts are used up. */
+    public void recordFailure(OutboundMessage m, String error, boolean permanent) {
+        int attempt = m.attempts() + 1;
+        String trimmed = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        if (permanent || attempt >= maxAttempts) {
+            notificationRepository.markAttemptFailed(m.id(), NotificationStatus.FAILED, null, trimmed);
+        } else {
+            notificationRepository.markAttemptFailed(m.id(), NotificationStatus.PENDING,
+                    LocalDateTime.now().plusSeconds(backoffSeconds(attempt)), trimmed);
+        }
+    }
+
+    /** base * 2^(attempt - 1), capped. */
+    long backoffSeconds(int attempt) {
+        int shift = Math.min(Math.max(attempt - 1, 0), 30);
+        return Math.min(baseBackoffSeconds << shift, maxBackoffSeconds);
+    }
+}
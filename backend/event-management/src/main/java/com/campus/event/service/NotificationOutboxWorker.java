@@ -0,0 +1,135 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.NotificationType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the {@link NotificationOutbox} onto a bounded sender pool. Never claims more rows than
+ * the pool can take, and claims each channel only as fast as the mail server and Twilio account
+ * limits allow, so a claimed row is sent right away instead of waiting out its lease.
+ */
+@Component
+public class NotificationOutboxWorker {
+    private static final Logger log = LoggerFactory.getLogger(NotificationOutboxWorker.class);
+
+    /**
+     * Permits refilled at a fixed rate, holding at most one poll's worth. Permits are taken before
+     * claiming and never waited for; unused ones are given back.
+     */
+    static final class RateLimiter {
+        private final double permitsPerNano;
+        private final double maxPermits;
+        private double permits;
+        private long refilledAt = System.nanoTime();
+
+        RateLimiter(double permitsPerSecond, long pollMs) {
+            this.permitsPerNano = Math.max(permitsPerSecond, 0.001) / TimeUnit.SECONDS.toNanos(1);
+            this.maxPermits = Math.max(1.0, permitsPerSecond * pollMs / 1000.0);
+            this.permits = maxPermits;
+        }
+
+        synchronized int tryAcquire(int wanted) {
+            long now = System.nanoTime();
+            permits = Math.min(maxPermits, permits + (now - refilledAt) * permitsPerNano);
+            refilledAt = now;
+            int granted = (int) Math.min(Math.max(wanted, 0), Math.floor(permits));
+            permits -= granted;
+            return granted;
+        }
+
+        synchronized void release(int unused) {
+            if (unused > 0) permits = Math.min(maxPermits, permits + unused);
+        }
+    }
+
+    private final NotificationOutbox outbox;
+    private final OutboundChannelSender channelSender;
+    private final ThreadPoolTaskExecutor executor;
+    private final RateLimiter emailLimiter;
+    private final RateLimiter smsLimiter;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public NotificationOutboxWorker(NotificationOutbox outbox,
+                                    OutboundChannelSender channelSender,
+                                    @Qualifier("notificationSenderExecutor") ThreadPoolTaskExecutor executor,
+                                    @Value("${app.notifications.outbox.emailPerSecond:10}") double emailPerSecond,
+                                    @Value("${app.notifications.outbox.smsPerSecond:1}") double smsPerSecond,
+                                    @Value("${app.notifications.outbox.maxInFlight:50}") int maxInFlight,
+                                    @Value("${app.notifications.outbox.pollMs:2000}") long pollMs) {
+        this.outbox = outbox;
+        this.channelSender = channelSender;
+        this.executor = executor;
+        this.emailLimiter = new RateLimiter(emailPerSecond, pollMs);
+        this.smsLimiter = new RateLimiter(smsPerSecond, pollMs);
+        this.maxInFlight = maxInFlight;
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.outbox.pollMs:2000}")
+    public void drain() {
+        int free = maxInFlight - inFlight.get();
+        free -= dispatch(NotificationType.EMAIL, emailLimiter, free);
+        dispatch(NotificationType.SMS, smsLimiter, free);
+    }
+
+    /** Claims and submits as many rows of {@code type} as its rate and the pool allow; returns how many. */
+    private int dispatch(NotificationType type, RateLimiter limiter, int free) {
+        int permits = limiter.tryAcquire(free);
+        if (permits == 0) return 0;
+        List<NotificationOutbox.OutboundMessage> claimed;
+        try {
+            claimed = outbox.claimDue(type, permits);
+        } catch (Exception e) {
+            limiter.release(permits);
+            log.warn("Notification outbox poll failed: {}", e.getMessage());
+            return 0;
+        }
+        limiter.release(permits - claimed.size());
+        for (NotificationOutbox.OutboundMessage m : claimed) {
+            inFlight.incrementAndGet();
+            try {
+                executor.execute(() -> {
+                    try {
+                        deliver(m);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            } catch (RuntimeException rejected) {
+                // Lease expiry puts the row back in the queue
+                inFlight.decrementAndGet();
+                log.warn("Sender pool rejected notification {}: {}", m.id(), rejected.getMessage());
+            }
+        }
+        return claimed.size();
+    }
+
+    void deliver(NotificationOutbox.OutboundMessage m) {
+        if (!StringUtils.hasText(m.to())) {
+            outbox.recordFailure(m, "No recipient address", true);
+            return;
+        }
+        try {
+            if (m.type() == NotificationType.EMAIL) {
+                channelSender.sendEmail(m.to(), m.subject(), m.message());
+            } else {
+                channelSender.sendSms(m.to(), m.message());
+            }
+            outbox.recordSent(m);
+        } catch (Exception e) {
+            log.warn("{} send failed for notification {} (attempt {}): {}", m.type(), m.id(), m.attempts() + 1, e.getMessage());
+            outbox.recordFailure(m, e.getMessage(), false);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.campus.event.service;
+
+import com.twilio.Twilio;
+import com.twilio.rest.api.v2010.account.Message;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Talks to the external email and SMS providers. Only {@link NotificationOutboxWorker} calls the
+ * send methods; request handlers enqueue through {@link NotificationService} instead.
+ */
+@Component
+public class OutboundChannelSender {
+
+    private final JavaMailSender mailSender;
+
+    @Value("${app.notifications.twilio.accountSid:}")
+    private String twilioSid;
+
+    @Value("${app.notifications.twilio.authToken:}")
+    private String twilioToken;
+
+    @Value("${app.notifications.twilio.fromNumber:}")
+    private String twilioFrom;
+
+    private volatile boolean twilioInitialized;
+
+    public OutboundChannelSender(JavaMailSender mailSender) {
+        this.mailSender = mailSender;
+    }
+
+    public void sendEmail(String to, String subject, String message) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setTo(to);
+        mail.setSubject(subject);
+        mail.setText(message);
+        mailSender.send(mail);
+    }
+
+    public void sendSms(String to, String message) {
+        initTwilio();
+        Message.creator(new com.twilio.type.PhoneNumber(to),
+                new com.twilio.type.PhoneNumber(twilioFrom), message).create();
+    }
+
+    public boolean isSmsConfigured() {
+        return StringUtils.hasText(twilioSid) && StringUtils.hasText(twilioToken) && StringUtils.hasText(twilioFrom)
+                && !twilioSid.startsWith("YOUR_") && !twilioFrom.startsWith("+1000000");
+    }
+
+    // Twilio keeps a process-wide client; initialize it once instead of per message
+    private void initTwilio() {
+        if (twilioInitialized) return;
+        synchronized (this) {
+            if (!twilioInitialized) {
+                Twilio.init(twilioSid, twilioToken);
+                twilioInitialized = true;
+            }
+        }
+    }
+}
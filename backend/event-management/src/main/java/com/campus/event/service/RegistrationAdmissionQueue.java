@@ -0,0 +1,210 @@
+package com.campus.event.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission queue for flash-sale events. Registration requests are accepted into a bounded
+ * in-memory queue and answered with a ticket; a scheduled drain confirms them in per-event batches
+ * through {@link EventRegistrationService#admitBatch}, so a burst of requests turns into a steady
+ * stream of short transactions instead of a pile-up on the seat counter row.
+ * <p>
+ * Clients poll their ticket for the outcome. A user holds at most one open ticket per event.
+ * A WAITLISTED ticket is looked up again on each poll, so it turns CONFIRMED once a cancellation
+ * promotes its holder and otherwise reports the current waitlist position.
+ * Tickets live in this process only; a restart drops queued tickets, and their holders re-register.
+ */
+@Component
+public class RegistrationAdmissionQueue {
+    private static final Logger log = LoggerFactory.getLogger(RegistrationAdmissionQueue.class);
+
+    public enum Status { QUEUED, CONFIRMED, WAITLISTED, ALREADY_REGISTERED, REJECTED }
+
+    /** Snapshot of a ticket; {@code position} is the queue position while QUEUED. */
+    public record TicketView(String ticketId, Long eventId, Status status, Long position,
+                             Long registrationId, Long waitlistPosition) {
+    }
+
+    private static final class Ticket {
+        final String id;
+        final long seq;
+        final Long eventId;
+        final Long userId;
+        final String fullName;
+        volatile Status status = Status.QUEUED;
+        volatile Long registrationId;
+        volatile Long waitlistPosition;
+        volatile Instant finishedAt;
+
+        Ticket(String id, long seq, Long eventId, Long userId, String fullName) {
+            this.id = id;
+            this.seq = seq;
+            this.eventId = eventId;
+            this.userId = userId;
+            this.fullName = fullName;
+        }
+    }
+
+    private final EventRegistrationService registrationService;
+    private final BlockingQueue<Ticket> queue;
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final Map<String, Ticket> openByUser = new ConcurrentHashMap<>();
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dequeued = new AtomicLong();
+
+    @Value("${app.registration.queue.batchSize:100}")
+    private int batchSize = 100;
+
+    @Value("${app.registration.queue.ticketTtlSeconds:900}")
+    private long ticketTtlSeconds = 900;
+
+    public RegistrationAdmissionQueue(EventRegistrationService registrationService,
+                                      @Value("${app.registration.queue.capacity:5000}") int capacity) {
+        this.registrationService = registrationService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Queues a registration request, or returns the user's open ticket for the event if there is
+     * one. Empty when the queue is full.
+     */
+    public Optional<TicketView> enqueue(Long eventId, Long userId, String fullName) {
+        String userKey = eventId + ":" + userId;
+        Ticket existing = openByUser.get(userKey);
+        if (existing != null) {
+            return Optional.of(view(existing));
+        }
+        synchronized (this) {
+            existing = openByUser.get(userKey);
+            if (existing != null) {
+                return Optional.of(view(existing));
+            }
+            Ticket t = new Ticket(UUID.randomUUID().toString(), enqueued.get() + 1, eventId, userId, fullName);
+            if (!queue.offer(t)) {
+                return Optional.empty();
+            }
+            enqueued.incrementAndGet();
+            tickets.put(t.id, t);
+            openByUser.put(userKey, t);
+            return Optional.of(view(t));
+        }
+    }
+
+    /** Current state of a ticket, if it exists and belongs to {@code userId}. */
+    public Optional<TicketView> find(String ticketId, Long userId) {
+        Ticket t = tickets.get(ticketId);
+        if (t == null || !t.userId.equals(userId)) {
+            return Optional.empty();
+        }
+        if (t.status == Status.WAITLISTED) {
+            refreshWaitlisted(t);
+        }
+        return Optional.of(view(t));
+    }
+
+    // Promotion from the waitlist happens on cancellation, outside this queue
+    private void refreshWaitlisted(Ticket t) {
+        Optional<Long> registrationId = registrationService.registrationId(t.eventId, t.userId);
+        if (registrationId.isPresent()) {
+            t.registrationId = registrationId.get();
+            t.waitlistPosition = null;
+            t.status = Status.CONFIRMED;
+        } else {
+            registrationService.waitlistPosition(t.eventId, t.userId).ifPresent(p -> t.waitlistPosition = p);
+        }
+    }
+
+    /** Number of tickets waiting to be drained. */
+    public int size() {
+        return queue.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.registration.queue.drainDelayMs:200}")
+    public void drain() {
+        List<Ticket> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            Map<Long, List<Ticket>> byEvent = new LinkedHashMap<>();
+            for (Ticket t : batch) {
+                byEvent.computeIfAbsent(t.eventId, k -> new ArrayList<>()).add(t);
+            }
+            byEvent.forEach(this::admit);
+            dequeued.addAndGet(batch.size());
+            batch.clear();
+        }
+        evictFinished();
+    }
+
+    private void admit(Long eventId, List<Ticket> group) {
+        List<EventRegistrationService.Admission> admissions = new ArrayList<>(group.size());
+        for (Ticket t : group) {
+            admissions.add(new EventRegistrationService.Admission(t.id, t.userId, t.fullName));
+        }
+        List<EventRegistrationService.AdmissionResult> results;
+        try {
+            results = registrationService.admitBatch(eventId, admissions);
+        } catch (Exception e) {
+            log.warn("Admission batch of {} for event {} failed: {}", group.size(), eventId, e.getMessage());
+            results = group.size() > 1 ? admitOneByOne(eventId, admissions) : List.of();
+        }
+        Map<String, Ticket> byId = new LinkedHashMap<>();
+        group.forEach(t -> byId.put(t.id, t));
+        for (EventRegistrationService.AdmissionResult r : results) {
+            Ticket t = byId.remove(r.ticketId());
+            if (t != null) {
+                finish(t, Status.valueOf(r.outcome().name()), r.registrationId(), r.waitlistPosition());
+            }
+        }
+        byId.values().forEach(t -> finish(t, Status.REJECTED, null, null));
+    }
+
+    /**
+     * Retries the admissions of a failed batch one per transaction, so only the ones that fail
+     * again are rejected (they are left out of the result).
+     */
+    private List<EventRegistrationService.AdmissionResult> admitOneByOne(Long eventId,
+                                                                         List<EventRegistrationService.Admission> admissions) {
+        List<EventRegistrationService.AdmissionResult> results = new ArrayList<>(admissions.size());
+        for (EventRegistrationService.Admission a : admissions) {
+            try {
+                results.addAll(registrationService.admitBatch(eventId, List.of(a)));
+            } catch (Exception e) {
+                log.warn("Admission of ticket {} for event {} failed: {}", a.ticketId(), eventId, e.getMessage());
+            }
+        }
+        return results;
+    }
+
+    private void finish(Ticket t, Status status, Long registrationId, Long waitlistPosition) {
+        t.registrationId = registrationId;
+        t.waitlistPosition = waitlistPosition;
+        t.finishedAt = Instant.now();
+        t.status = status;
+        openByUser.remove(t.eventId + ":" + t.userId, t);
+    }
+
+    private void evictFinished() {
+        Instant cutoff = Instant.now().minusSeconds(ticketTtlSeconds);
+        tickets.values().removeIf(t -> t.finishedAt != null && t.finishedAt.isBefore(cutoff));
+    }
+
+    private TicketView view(Ticket t) {
+        Status status = t.status;
+        Long position = status == Status.QUEUED ? Math.max(1L, t.seq - dequeued.get()) : null;
+        return new TicketView(t.id, t.eventId, status, position, t.registrationId, t.waitlistPosition);
+    }
+}
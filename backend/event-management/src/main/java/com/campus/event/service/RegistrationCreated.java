@@ -0,0 +1,8 @@
+package com.campus.event.service;
+
+/**
+ * Published by {@link EventRegistrationService} when a registration is inserted. Handled after the
+ * registration commits, so a rolled-back registration has no side effects.
+ */
+public record RegistrationCreated(Long registrationId, Long eventId, Long userId, String fullName) {
+}
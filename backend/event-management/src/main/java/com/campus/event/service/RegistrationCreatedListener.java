@@ -0,0 +1,76 @@
+package com.campus.event.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Collects committed {@link RegistrationCreated} events and hands them to
+ * {@link RegistrationSideEffects} in batches from a scheduled flush, off the request thread.
+ * The buffer is in memory: side effects of registrations committed just before a crash are lost,
+ * as they were when they ran best-effort inside the request.
+ */
+@Component
+public class RegistrationCreatedListener {
+    private static final Logger log = LoggerFactory.getLogger(RegistrationCreatedListener.class);
+
+    private final RegistrationSideEffects sideEffects;
+    private final ConcurrentLinkedQueue<RegistrationCreated> pending = new ConcurrentLinkedQueue<>();
+
+    @Value("${app.registration.sideEffects.batchSize:200}")
+    private int batchSize = 200;
+
+    public RegistrationCreatedListener(RegistrationSideEffects sideEffects) {
+        this.sideEffects = sideEffects;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRegistrationCreated(RegistrationCreated event) {
+        pending.add(event);
+    }
+
+    @Scheduled(fixedDelayString = "${app.registration.sideEffects.flushMs:500}")
+    public void flush() {
+        List<RegistrationCreated> batch = new ArrayList<>(batchSize);
+        RegistrationCreated next;
+        while ((next = pending.poll()) != null) {
+            batch.add(next);
+            if (batch.size() == batchSize) {
+                apply(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            apply(batch);
+        }
+    }
+
+    /** Number of events waiting for the next flush. */
+    public int backlog() {
+        return pending.size();
+    }
+
+    private void apply(List<RegistrationCreated> batch) {
+        try {
+            sideEffects.apply(batch);
+        } catch (Exception e) {
+            // One bad row must not cost the rest of the batch their side effects
+            log.warn("Registration side effects failed for a batch of {}, retrying one by one: {}", batch.size(), e.getMessage());
+            for (RegistrationCreated r : batch) {
+                try {
+                    sideEffects.apply(List.of(r));
+                } catch (Exception single) {
+                    log.warn("Registration side effects failed for registration {}: {}", r.registrationId(), single.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.Event;
+import com.campus.event.domain.EventRegistration;
+import com.campus.event.domain.Registration;
+import com.campus.event.domain.User;
+import com.campus.event.repository.EventRegistrationRepository;
+import com.campus.event.repository.EventRepository;
+import com.campus.event.repository.RegistrationRepository;
+import com.campus.event.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Side effects of a batch of {@link RegistrationCreated} events, in one transaction: events and
+ * users are loaded once, legacy rows are synced with one lookup per event, and each registrant
+ * gets the confirmation notification. Earlier event announcements need no backfill; inboxes read
+ * them at query time.
+ */
+@Service
+public class RegistrationSideEffects {
+
+    private final EventRegistrationRepository registrationRepository;
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final RegistrationRepository legacyRegistrationRepository;
+    private final NotificationService notificationService;
+
+    public RegistrationSideEffects(EventRegistrationRepository registrationRepository,
+                                   EventRepository eventRepository,
+                                   UserRepository userRepository,
+                                   RegistrationRepository legacyRegistrationRepository,
+                                   NotificationService notificationService) {
+        this.registrationRepository = registrationRepository;
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.legacyRegistrationRepository = legacyRegistrationRepository;
+        this.notificationService = notificationService;
+    }
+
+    @Transactional
+    public void apply(List<RegistrationCreated> batch) {
+        if (batch.isEmpty()) return;
+        // Registrations cancelled before the flush get no side effects
+        Set<Long> live = registrationRepository.findAllById(
+                        batch.stream().map(RegistrationCreated::registrationId).collect(Collectors.toSet()))
+                .stream().map(EventRegistration::getId).collect(Collectors.toSet());
+        Map<Long, List<RegistrationCreated>> byEvent = new LinkedHashMap<>();
+        Set<Long> userIds = new HashSet<>();
+        for (RegistrationCreated r : batch) {
+            if (!live.contains(r.registrationId())) continue;
+            byEvent.computeIfAbsent(r.eventId(), k -> new ArrayList<>()).add(r);
+            userIds.add(r.userId());
+        }
+        if (byEvent.isEmpty()) return;
+        Map<Long, Event> events = eventRepository.findAllById(byEvent.keySet()).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        byEvent.forEach((eventId, regs) -> {
+            Event event = events.get(eventId);
+            if (event == null) return;
+            Set<Long> eventUserIds = regs.stream().map(RegistrationCreated::userId)
+                    .filter(users::containsKey).collect(Collectors.toSet());
+            if (eventUserIds.isEmpty()) return;
+
+            syncLegacyRegistrations(event, regs, users);
+
+            String subject = "Registration confirmed: " + event.getTitle();
+            String msg = "You are registered for '" + event.getTitle() + "' starting at " + event.getStartTime() + ".";
+            for (Long userId : eventUserIds) {
+                notificationService.notifyAllChannels(users.get(userId), subject, msg);
+            }
+        });
+    }
+
+    // Keep legacy email-based registrations in sync so older UI endpoints (e.g. /api/registrations/mine)
+    // also reflect these registrations.
+    private void syncLegacyRegistrations(Event event, List<RegistrationCreated> regs, Map<Long, User> users) {
+        Map<String, RegistrationCreated> byEmail = new LinkedHashMap<>();
+        for (RegistrationCreated r : regs) {
+            User user = users.get(r.userId());
+            if (user != null && user.getEmail() != null) {
+                byEmail.putIfAbsent(user.getEmail(), r);
+            }
+        }
+        if (byEmail.isEmpty()) return;
+        legacyRegistrationRepository.findEmailsByEventIdAndEmailIn(event.getId(), byEmail.keySet())
+                .forEach(byEmail::remove);
+        List<Registration> toCreate = new ArrayList<>(byEmail.size());
+        byEmail.forEach((email, r) -> {
+            Registration legacy = new Registration();
+            legacy.setEvent(event);
+            legacy.setEmail(email);
+            legacy.setFullName(r.fullName() != null ? r.fullName() : users.get(r.userId()).getUsername());
+            toCreate.add(legacy);
+        });
+        legacyRegistrationRepository.saveAll(toCreate);
+    }
+}
@@ -0,0 +1,294 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.AdminScope;
+import com.campus.event.domain.Event;
+import com.campus.event.domain.Room;
+import com.campus.event.domain.RoomBookingRequest;
+import com.campus.event.domain.RoomBookingStatus;
+import com.campus.event.repository.RoomBookingRequestRepository;
+import com.campus.event.repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Assigns rooms to pending booking requests as one set-based pass: pending requests, candidate
+ * rooms and the occupancy of every candidate room in every requested window are loaded in bulk
+ * (see {@link RoomAvailabilityService#availabilityMatrix}), assignments are solved in memory
+ * oldest request first, and the result is written in a single transaction.
+ */
+@Service
+public class RoomAllocationEngine {
+    private static final Logger log = LoggerFactory.getLogger(RoomAllocationEngine.class);
+
+    /** A committed allocation, detached from the persistence context for post-commit work. */
+    public record Allocation(Long requestId, Long roomId, String roomName, String requestedByUsername) {
+    }
+
+    record Assignment(RoomBookingRequest request, Room room) {
+    }
+
+    private final RoomBookingRequestRepository requestRepo;
+    private final RoomRepository roomRepo;
+    private final RoomAvailabilityService availabilityService;
+    private final RoomBookingWriter bookingWriter;
+
+    public RoomAllocationEngine(RoomBookingRequestRepository requestRepo,
+                                RoomRepository roomRepo,
+                                RoomAvailabilityService availabilityService,
+                                RoomBookingWriter bookingWriter) {
+        this.requestRepo = requestRepo;
+        this.roomRepo = roomRepo;
+        this.availabilityService = availabilityService;
+        this.bookingWriter = bookingWriter;
+    }
+
+    /**
+     * Allocates every request pending since before {@code cutoff} and flushes all updates in one
+     * batch. If the database rejects the batch (a booking raced in), the whole transaction rolls
+     * back and the caller can fall back to {@link #allocateIndividually}.
+     */
+    @Transactional
+    public List<Allocation> allocateBatch(LocalDateTime cutoff) {
+        List<Assignment> assignments = plan(requestRepo.findPendingOlderThan(cutoff), roomRepo.findActiveWithBuilding());
+        LocalDateTime now = LocalDateTime.now();
+        assignments.forEach(a -> approve(a, now));
+        requestRepo.flush();
+        return assignments.stream().map(RoomAllocationEngine::toAllocation).collect(Collectors.toList());
+    }
+
+    /** Same plan, but each allocation is written on its own so one conflict only skips that request. */
+    public List<Allocation> allocateIndividually(LocalDateTime cutoff) {
+        List<Assignment> assignments = plan(requestRepo.findPendingOlderThan(cutoff), roomRepo.findActiveWithBuilding());
+        LocalDateTime now = LocalDateTime.now();
+        List<Allocation> out = new ArrayList<>();
+        for (Assignment a : assignments) {
+            approve(a, now);
+            try {
+                bookingWriter.save(a.request());
+                out.add(toAllocation(a));
+            } catch (BookingConflictException e) {
+                log.warn("Auto-allocation of request {} to room {} lost a race: {}",
+                        a.request().getId(), a.room().getId(), e.getMessage());
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Solves assignments in memory. Requests are served oldest first; each takes its first free
+     * preference, otherwise the smallest free room that seats the expected attendance, looked up
+     * in the request's building first and campus-wide after that, within the approval scope of its
+     * preferences. Rooms taken earlier in the same pass are treated as occupied for later requests.
+     * <p>
+     * Occupancy is loaded for the preferences and building candidates only. Campus-wide rooms are
+     * added for the requests those leave unassigned, one availability load per widening round, and
+     * the pass is solved again; rounds stop once no unassigned request can widen any further.
+     */
+    List<Assignment> plan(List<RoomBookingRequest> pending, List<Room> rooms) {
+        List<RoomBookingRequest> ordered = pending.stream()
+                .filter(r -> validWindow(RoomOccupancyIndex.windowStart(r), RoomOccupancyIndex.windowEnd(r)))
+                .sorted(Comparator.comparing(RoomBookingRequest::getRequestedAt,
+                                Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(RoomBookingRequest::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
+        if (ordered.isEmpty()) return List.of();
+
+        CapacityIndex index = new CapacityIndex(rooms);
+        List<List<Room>> tryOrders = new ArrayList<>(ordered.size());
+        for (RoomBookingRequest r : ordered) {
+            tryOrders.add(candidatesFor(r, index));
+        }
+        List<RoomAvailabilityService.TimeWindow> windows = ordered.stream()
+                .map(r -> new RoomAvailabilityService.TimeWindow(RoomOccupancyIndex.windowStart(r), RoomOccupancyIndex.windowEnd(r)))
+                .collect(Collectors.toList());
+
+        Map<Long, List<Boolean>> free = new HashMap<>();
+        boolean[] widened = new boolean[ordered.size()];
+        while (true) {
+            loadAvailability(tryOrders, windows, free);
+            Room[] chosen = solve(windows, tryOrders, free);
+            boolean widenedAny = false;
+            for (int i = 0; i < chosen.length; i++) {
+                if (chosen[i] != null || widened[i]) continue;
+                widened[i] = true;
+                List<Room> tryOrder = tryOrders.get(i);
+                Set<Long> tried = tryOrder.stream().map(Room::getId).collect(Collectors.toSet());
+                int before = tryOrder.size();
+                campusWide(ordered.get(i), index).stream()
+                        .filter(room -> tried.add(room.getId()))
+                        .forEach(tryOrder::add);
+                widenedAny |= tryOrder.size() > before;
+            }
+            if (!widenedAny) {
+                List<Assignment> out = new ArrayList<>();
+                for (int i = 0; i < chosen.length; i++) {
+                    if (chosen[i] != null) out.add(new Assignment(ordered.get(i), chosen[i]));
+                }
+                return out;
+            }
+        }
+    }
+
+    /** Loads the availability of candidate rooms not loaded yet, in one query. */
+    private void loadAvailability(List<List<Room>> tryOrders, List<RoomAvailabilityService.TimeWindow> windows,
+                                  Map<Long, List<Boolean>> free) {
+        Set<Long> missing = new LinkedHashSet<>();
+        tryOrders.forEach(tryOrder -> tryOrder.stream()
+                .map(Room::getId)
+                .filter(id -> !free.containsKey(id))
+                .forEach(missing::add));
+        if (!missing.isEmpty()) {
+            free.putAll(availabilityService.availabilityMatrix(missing, windows));
+        }
+    }
+
+    /** The room each request gets, in request order; null where every candidate is taken. */
+    private static Room[] solve(List<RoomAvailabilityService.TimeWindow> windows, List<List<Room>> tryOrders,
+                                Map<Long, List<Boolean>> free) {
+        Map<Long, List<RoomAvailabilityService.TimeWindow>> takenThisPass = new HashMap<>();
+        Room[] chosen = new Room[windows.size()];
+        for (int i = 0; i < windows.size(); i++) {
+            RoomAvailabilityService.TimeWindow w = windows.get(i);
+            for (Room room : tryOrders.get(i)) {
+                List<Boolean> roomFree = free.get(room.getId());
+                if (roomFree == null || !roomFree.get(i)) continue;
+                List<RoomAvailabilityService.TimeWindow> taken = takenThisPass.getOrDefault(room.getId(), List.of());
+                if (taken.stream().anyMatch(t -> t.start().isBefore(w.end()) && w.start().isBefore(t.end()))) continue;
+                takenThisPass.computeIfAbsent(room.getId(), k -> new ArrayList<>()).add(w);
+                chosen[i] = room;
+                break;
+            }
+        }
+        return chosen;
+    }
+
+    /** Preferences first, then best-fit rooms in the request's building. */
+    private static List<Room> candidatesFor(RoomBookingRequest r, CapacityIndex index) {
+        List<Room> prefs = preferences(r);
+        Long buildingId = r.getEvent() != null && r.getEvent().getBuilding() != null
+                ? r.getEvent().getBuilding().getId()
+                : prefs.isEmpty() ? null : index.buildingOf(prefs.get(0).getId());
+
+        Map<Long, Room> tryOrder = new LinkedHashMap<>();
+        prefs.forEach(pref -> tryOrder.putIfAbsent(pref.getId(), pref));
+        if (buildingId != null) {
+            index.bestFit(buildingId, scopeOf(prefs, index), need(r)).forEach(room -> tryOrder.putIfAbsent(room.getId(), room));
+        }
+        return new ArrayList<>(tryOrder.values());
+    }
+
+    /** Best-fit rooms anywhere on campus, tried once the nearer candidates are all taken. */
+    private static List<Room> campusWide(RoomBookingRequest r, CapacityIndex index) {
+        return index.bestFit(null, scopeOf(preferences(r), index), need(r));
+    }
+
+    private static AdminScope scopeOf(List<Room> prefs, CapacityIndex index) {
+        return prefs.isEmpty() ? null : RoomApprovalRules.scopeForRoom(index.resolve(prefs.get(0)));
+    }
+
+    private static int need(RoomBookingRequest r) {
+        Event e = r.getEvent();
+        return e != null && e.getMaxAttendees() != null ? e.getMaxAttendees() : 0;
+    }
+
+    private static List<Room> preferences(RoomBookingRequest r) {
+        List<Room> prefs = new ArrayList<>(3);
+        for (Room pref : new Room[]{r.getPref1(), r.getPref2(), r.getPref3()}) {
+            if (pref != null && pref.getId() != null) prefs.add(pref);
+        }
+        return prefs;
+    }
+
+    /**
+     * Active rooms grouped by (building, approval scope), each group sorted by capacity so the
+     * smallest room that seats {@code need} people is found by binary search. A null building or
+     * scope in a lookup means "any". Rooms with unknown capacity sort last and always qualify.
+     */
+    static final class CapacityIndex {
+        private record Key(Long buildingId, AdminScope scope) {
+        }
+
+        private static final Comparator<Room> BY_CAPACITY =
+                Comparator.comparingInt(CapacityIndex::capacityOf).thenComparing(Room::getId);
+
+        private final Map<Key, List<Room>> groups = new HashMap<>();
+        private final Map<Long, Room> roomsById = new HashMap<>();
+        private final Map<Long, Long> buildingByRoom = new HashMap<>();
+
+        CapacityIndex(List<Room> rooms) {
+            for (Room room : rooms) {
+                if (room.getId() == null || !room.isActive()) continue;
+                roomsById.put(room.getId(), room);
+                AdminScope scope = RoomApprovalRules.scopeForRoom(room);
+                Long buildingId = room.getFloor() != null && room.getFloor().getBuilding() != null
+                        ? room.getFloor().getBuilding().getId() : null;
+                if (buildingId != null) {
+                    buildingByRoom.put(room.getId(), buildingId);
+                    add(new Key(buildingId, scope), room);
+                    add(new Key(buildingId, null), room);
+                }
+                add(new Key(null, scope), room);
+                add(new Key(null, null), room);
+            }
+            groups.values().forEach(group -> group.sort(BY_CAPACITY));
+        }
+
+        List<Room> bestFit(Long buildingId, AdminScope scope, int need) {
+            List<Room> group = groups.getOrDefault(new Key(buildingId, scope), List.of());
+            int lo = 0;
+            int hi = group.size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (capacityOf(group.get(mid)) < need) lo = mid + 1; else hi = mid;
+            }
+            return group.subList(lo, group.size());
+        }
+
+        Long buildingOf(Long roomId) {
+            return buildingByRoom.get(roomId);
+        }
+
+        /** The indexed instance for a room (already loaded with its building), else {@code room}. */
+        Room resolve(Room room) {
+            return roomsById.getOrDefault(room.getId(), room);
+        }
+
+        private void add(Key key, Room room) {
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(room);
+        }
+
+        private static int capacityOf(Room room) {
+            return room.getCapacity() != null ? room.getCapacity() : Integer.MAX_VALUE;
+        }
+    }
+
+    private static boolean validWindow(LocalDateTime start, LocalDateTime end) {
+        return start != null && end != null && end.isAfter(start);
+    }
+
+    private static void approve(Assignment a, LocalDateTime now) {
+        RoomBookingRequest r = a.request();
+        r.setAllocatedRoom(a.room());
+        r.setStatus(RoomBookingStatus.APPROVED);
+        r.setApprovedAt(now);
+        r.setApprovedByUsername("AUTO");
+    }
+
+    private static Allocation toAllocation(Assignment a) {
+        return new Allocation(a.request().getId(), a.room().getId(), a.room().getName(),
+                a.request().getRequestedByUsername());
+    }
+}
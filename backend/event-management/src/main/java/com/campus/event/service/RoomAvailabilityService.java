@@ -1,16 +1,21 @@
 package com.campus.event.service;
 
-import com.campus.event.domain.Event;
-import com.campus.event.domain.RoomBookingRequest;
+import com.campus.event.domain.FixedTimetable;
 import com.campus.event.domain.RoomBookingStatus;
 import com.campus.event.repository.FixedTimetableRepository;
 import com.campus.event.repository.RoomBookingRequestRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -18,14 +23,29 @@ import java.util.stream.Collectors;
 
 @Service
 public class RoomAvailabilityService {
+    /** One requested time window of an availability matrix. */
+    public record TimeWindow(LocalDateTime start, LocalDateTime end) {
+    }
+
     private final RoomBookingRequestRepository requestRepo;
     private final FixedTimetableRepository fixedTimetableRepository;
+    private final RoomOccupancyIndex occupancyIndex;
+    private final WeeklyTimetableIndex timetableIndex;
 
     @Autowired
     public RoomAvailabilityService(RoomBookingRequestRepository requestRepo,
-                                   FixedTimetableRepository fixedTimetableRepository) {
+                                   FixedTimetableRepository fixedTimetableRepository,
+                                   RoomOccupancyIndex occupancyIndex,
+                                   WeeklyTimetableIndex timetableIndex) {
         this.requestRepo = requestRepo;
         this.fixedTimetableRepository = fixedTimetableRepository;
+        this.occupancyIndex = occupancyIndex != null ? occupancyIndex : new RoomOccupancyIndex();
+        this.timetableIndex = timetableIndex != null ? timetableIndex : new WeeklyTimetableIndex();
+    }
+
+    public RoomAvailabilityService(RoomBookingRequestRepository requestRepo,
+                                   FixedTimetableRepository fixedTimetableRepository) {
+        this(requestRepo, fixedTimetableRepository, null, null);
     }
 
     // Backward-compatible constructor for existing unit tests
@@ -37,24 +57,103 @@ public class RoomAvailabilityService {
         if (hasFixedTimetableConflict(roomId, start, end)) {
             return false;
         }
-        List<RoomBookingRequest> existing = requestRepo.findByStatusIn(Set.of(RoomBookingStatus.APPROVED, RoomBookingStatus.CONFIRMED));
-        return existing.stream()
-                .filter(b -> b.getAllocatedRoom() != null && b.getAllocatedRoom().getId().equals(roomId))
-                .noneMatch(b -> overlaps(windowStart(b), windowEnd(b), start, end));
+        ensureIndexLoaded();
+        return occupancyIndex.isFree(roomId, start, end);
     }
 
     public Map<Long, Boolean> availabilityForRooms(List<Long> roomIds, LocalDateTime start, LocalDateTime end) {
-        List<RoomBookingRequest> existing = requestRepo.findByStatusIn(Set.of(RoomBookingStatus.APPROVED, RoomBookingStatus.CONFIRMED));
+        ensureIndexLoaded();
+        Map<Long, Map<DayOfWeek, List<FixedTimetable>>> classes = loadClasses(roomIds, List.of(new TimeWindow(start, end)));
         return roomIds.stream().collect(Collectors.toMap(
                 id -> id,
-                id -> !hasFixedTimetableConflict(id, start, end) && existing.stream()
-                        .filter(b -> b.getAllocatedRoom() != null && b.getAllocatedRoom().getId().equals(id))
-                        .noneMatch(b -> overlaps(windowStart(b), windowEnd(b), start, end))
+                id -> !hasClassConflict(classes.getOrDefault(id, Map.of()), start, end) && occupancyIndex.isFree(id, start, end),
+                (a, b) -> a
         ));
     }
 
+    /**
+     * Availability of every room in every window: {@code result.get(roomId).get(i)} answers
+     * {@code windows.get(i)}. Uses one overlap query on room_booking_requests and one on
+     * fixed_timetable, however many rooms, windows or days are involved.
+     */
+    public Map<Long, List<Boolean>> availabilityMatrix(Collection<Long> roomIds, List<TimeWindow> windows) {
+        if (windows == null || windows.isEmpty()) {
+            throw new IllegalArgumentException("At least one time window is required");
+        }
+        LocalDateTime rangeStart = null;
+        LocalDateTime rangeEnd = null;
+        for (TimeWindow w : windows) {
+            if (w == null || w.start() == null || w.end() == null || !w.end().isAfter(w.start())) {
+                throw new IllegalArgumentException("Each time window needs a start before its end");
+            }
+            if (rangeStart == null || w.start().isBefore(rangeStart)) rangeStart = w.start();
+            if (rangeEnd == null || w.end().isAfter(rangeEnd)) rangeEnd = w.end();
+        }
+        Map<Long, List<Boolean>> out = new LinkedHashMap<>();
+        if (roomIds == null || roomIds.isEmpty()) return out;
+        Set<Long> ids = new LinkedHashSet<>(roomIds);
+
+        Map<Long, List<RoomBookingRequestRepository.OccupiedWindow>> booked = requestRepo
+                .findOccupiedWindows(ids, rangeStart, rangeEnd).stream()
+                .collect(Collectors.groupingBy(RoomBookingRequestRepository.OccupiedWindow::getRoomId));
+        Map<Long, Map<DayOfWeek, List<FixedTimetable>>> classes = loadClasses(ids, windows);
+
+        for (Long id : ids) {
+            List<RoomBookingRequestRepository.OccupiedWindow> roomBooked = booked.getOrDefault(id, List.of());
+            Map<DayOfWeek, List<FixedTimetable>> roomClasses = classes.getOrDefault(id, Map.of());
+            List<Boolean> row = new ArrayList<>(windows.size());
+            for (TimeWindow w : windows) {
+                boolean free = roomBooked.stream()
+                        .noneMatch(b -> overlaps(b.getWindowStart(), b.getWindowEnd(), w.start(), w.end()))
+                        && !hasClassConflict(roomClasses, w.start(), w.end());
+                row.add(free);
+            }
+            out.put(id, row);
+        }
+        return out;
+    }
+
+    /**
+     * Booked windows come from the in-memory occupancy index; the first call loads it from all
+     * APPROVED / CONFIRMED requests and {@link RoomOccupancyListener} keeps it current afterwards.
+     */
+    private void ensureIndexLoaded() {
+        occupancyIndex.ensureLoaded(() ->
+                requestRepo.findByStatusIn(Set.of(RoomBookingStatus.APPROVED, RoomBookingStatus.CONFIRMED)));
+    }
+
+    /** Answered from {@link WeeklyTimetableIndex}, so no query once the weekly matrix is loaded. */
     private boolean hasFixedTimetableConflict(Long roomId, LocalDateTime start, LocalDateTime end) {
-        if (roomId == null || start == null || end == null || !start.isBefore(end)) {
+        if (fixedTimetableRepository == null) {
+            return false;
+        }
+        return timetableIndex.hasConflict(fixedTimetableRepository::findAllActiveOrderByDayAndTime, roomId, start, end);
+    }
+
+    /** Active fixed classes of {@code roomIds} on the weekdays touched by {@code windows}, grouped by room and day. */
+    private Map<Long, Map<DayOfWeek, List<FixedTimetable>>> loadClasses(Collection<Long> roomIds, List<TimeWindow> windows) {
+        if (fixedTimetableRepository == null || roomIds == null || roomIds.isEmpty()) return Map.of();
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (TimeWindow w : windows) {
+            if (w.start() == null || w.end() == null || !w.start().isBefore(w.end())) continue;
+            LocalDate date = w.start().toLocalDate();
+            LocalDate endDate = w.end().toLocalDate();
+            while (!date.isAfter(endDate) && days.size() < 7) {
+                days.add(date.getDayOfWeek());
+                date = date.plusDays(1);
+            }
+        }
+        if (days.isEmpty()) return Map.of();
+        return fixedTimetableRepository.findActiveByRoomIdsAndDays(roomIds, days).stream()
+                .filter(ft -> ft.getRoom() != null && ft.getStartTime() != null && ft.getEndTime() != null)
+                .collect(Collectors.groupingBy(ft -> ft.getRoom().getId(),
+                        Collectors.groupingBy(FixedTimetable::getDayOfWeek)));
+    }
+
+    /** In-memory counterpart of {@link #hasFixedTimetableConflict} over preloaded classes. */
+    private static boolean hasClassConflict(Map<DayOfWeek, List<FixedTimetable>> classesByDay,
+                                            LocalDateTime start, LocalDateTime end) {
+        if (classesByDay.isEmpty() || start == null || end == null || !start.isBefore(end)) {
             return false;
         }
         LocalDate date = start.toLocalDate();
@@ -62,9 +161,10 @@ public class RoomAvailabilityService {
         while (!date.isAfter(endDate)) {
             LocalTime dayStart = date.isEqual(start.toLocalDate()) ? start.toLocalTime() : LocalTime.MIN;
             LocalTime dayEnd = date.isEqual(endDate) ? end.toLocalTime() : LocalTime.MAX;
-            if (fixedTimetableRepository != null
-                    && fixedTimetableRepository.existsConflictingClass(roomId, date.getDayOfWeek(), dayStart, dayEnd)) {
-                return true;
+            for (FixedTimetable c : classesByDay.getOrDefault(date.getDayOfWeek(), List.of())) {
+                if (c.getStartTime().isBefore(dayEnd) && c.getEndTime().isAfter(dayStart)) {
+                    return true;
+                }
             }
             date = date.plusDays(1);
         }
@@ -75,17 +175,4 @@ public class RoomAvailabilityService {
         if (aStart == null || aEnd == null || bStart == null || bEnd == null) return false;
         return aStart.isBefore(bEnd) && bStart.isBefore(aEnd);
     }
-
-    private static LocalDateTime windowStart(RoomBookingRequest r) {
-        Event e = r.getEvent();
-        if (e != null && e.getStartTime() != null) return e.getStartTime();
-        return r.getMeetingStart();
-        
-    }
-
-    private static LocalDateTime windowEnd(RoomBookingRequest r) {
-        Event e = r.getEvent();
-        if (e != null && e.getEndTime() != null) return e.getEndTime();
-        return r.getMeetingEnd();
-    }
 }
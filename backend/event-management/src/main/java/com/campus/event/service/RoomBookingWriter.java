@@ -0,0 +1,64 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.RoomBookingRequest;
+import com.campus.event.repository.RoomBookingRequestRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Writes booking requests that hold a room. Double booking is prevented by the database
+ * (exclusion constraint {@value #OVERLAP_CONSTRAINT} plus the {@code @Version} column), so no row
+ * lock is held while conflicts are checked; the write is flushed immediately and a violation is
+ * reported as a {@link BookingConflictException}. The same applies when an event is rescheduled
+ * and its requests' booking windows move with it.
+ */
+@Service
+public class RoomBookingWriter {
+
+    static final String OVERLAP_CONSTRAINT = "room_booking_no_overlap";
+
+    private final RoomBookingRequestRepository requestRepo;
+
+    public RoomBookingWriter(RoomBookingRequestRepository requestRepo) {
+        this.requestRepo = requestRepo;
+    }
+
+    public RoomBookingRequest save(RoomBookingRequest request) {
+        try {
+            return requestRepo.saveAndFlush(request);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new BookingConflictException(BookingConflictException.Reason.CONCURRENT_UPDATE,
+                    "Booking request was modified concurrently; reload and retry", e);
+        } catch (DataIntegrityViolationException e) {
+            throw translate(e);
+        }
+    }
+
+    /** Moves the booking window of every request of {@code eventId} to the event's new times. */
+    public int moveEventWindow(Long eventId, LocalDateTime start, LocalDateTime end) {
+        try {
+            return requestRepo.syncEffectiveWindowForEvent(eventId, start, end);
+        } catch (DataIntegrityViolationException e) {
+            throw translate(e);
+        }
+    }
+
+    private static RuntimeException translate(DataIntegrityViolationException e) {
+        if (violates(e, OVERLAP_CONSTRAINT)) {
+            return new BookingConflictException(BookingConflictException.Reason.OVERLAP,
+                    "Room is already booked for an overlapping window", e);
+        }
+        return e;
+    }
+
+    private static boolean violates(Throwable e, String constraint) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t.getMessage() != null && t.getMessage().contains(constraint)) return true;
+            if (t.getCause() == t) break;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,143 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.TimeSlot;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable occupancy of one room on one date: the fixed classes and APPROVED / CONFIRMED bookings
+ * of that day merged into disjoint intervals, plus a bitmask over the {@link TimeSlot} grid where
+ * bit {@code slot.ordinal()} is set when anything overlaps that slot.
+ * <p>
+ * Slot questions are a bit test; free-form questions are one binary search over the merged
+ * intervals. Built by {@link ScheduleService#getDayOccupancy} from at most two queries for any
+ * number of rooms.
+ */
+public final class RoomDayOccupancy {
+    private static final int END_OF_DAY = 24 * 60 * 60;
+
+    private final Long roomId;
+    private final LocalDate date;
+    private final long slotMask;
+    // Disjoint, sorted busy intervals in seconds of the day, half-open [starts[i], ends[i])
+    private final int[] starts;
+    private final int[] ends;
+
+    private RoomDayOccupancy(Long roomId, LocalDate date, int[] starts, int[] ends) {
+        this.roomId = roomId;
+        this.date = date;
+        this.starts = starts;
+        this.ends = ends;
+        long mask = 0L;
+        for (TimeSlot slot : TimeSlot.values()) {
+            if (overlapsAny(slot.getStart().toSecondOfDay(), slot.getEnd().toSecondOfDay())) {
+                mask |= 1L << slot.ordinal();
+            }
+        }
+        this.slotMask = mask;
+    }
+
+    /** Collects busy windows of one room for one date; windows are clipped to that date. */
+    public static final class Builder {
+        private final Long roomId;
+        private final LocalDate date;
+        private final List<int[]> busy = new ArrayList<>();
+
+        public Builder(Long roomId, LocalDate date) {
+            this.roomId = roomId;
+            this.date = date;
+        }
+
+        public Builder busy(LocalDateTime start, LocalDateTime end) {
+            if (start == null || end == null) return this;
+            LocalDateTime dayStart = date.atStartOfDay();
+            LocalDateTime dayEnd = date.plusDays(1).atStartOfDay();
+            if (!start.isBefore(dayEnd) || !end.isAfter(dayStart)) return this;
+            int s = start.isAfter(dayStart) ? start.toLocalTime().toSecondOfDay() : 0;
+            int e = end.isBefore(dayEnd) ? end.toLocalTime().toSecondOfDay() : END_OF_DAY;
+            return busy(s, e);
+        }
+
+        public Builder busy(LocalTime start, LocalTime end) {
+            if (start == null || end == null) return this;
+            return busy(start.toSecondOfDay(), end.equals(LocalTime.MAX) ? END_OF_DAY : end.toSecondOfDay());
+        }
+
+        private Builder busy(int start, int end) {
+            if (start < end) busy.add(new int[]{start, end});
+            return this;
+        }
+
+        public RoomDayOccupancy build() {
+            busy.sort((a, b) -> Integer.compare(a[0], b[0]));
+            int[] s = new int[busy.size()];
+            int[] e = new int[busy.size()];
+            int n = 0;
+            for (int[] iv : busy) {
+                if (n > 0 && iv[0] <= e[n - 1]) {
+                    e[n - 1] = Math.max(e[n - 1], iv[1]);
+                } else {
+                    s[n] = iv[0];
+                    e[n] = iv[1];
+                    n++;
+                }
+            }
+            return new RoomDayOccupancy(roomId, date, Arrays.copyOf(s, n), Arrays.copyOf(e, n));
+        }
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /** Bit {@code slot.ordinal()} is set when the slot is occupied. */
+    public long getSlotMask() {
+        return slotMask;
+    }
+
+    public boolean isSlotFree(TimeSlot slot) {
+        return (slotMask & (1L << slot.ordinal())) == 0;
+    }
+
+    public List<TimeSlot> freeSlots() {
+        List<TimeSlot> out = new ArrayList<>();
+        for (TimeSlot slot : TimeSlot.values()) {
+            if (isSlotFree(slot)) out.add(slot);
+        }
+        return out;
+    }
+
+    /** True when nothing occupies [start, end) on this date. An empty or inverted range is free. */
+    public boolean isFree(LocalTime start, LocalTime end) {
+        if (start == null || end == null) return true;
+        int e = end.equals(LocalTime.MAX) ? END_OF_DAY : end.toSecondOfDay();
+        return !overlapsAny(start.toSecondOfDay(), e);
+    }
+
+    private boolean overlapsAny(int start, int end) {
+        if (start >= end) return false;
+        // Last interval starting before end; intervals are disjoint, so only it can reach past start
+        int lo = 0;
+        int hi = starts.length - 1;
+        int found = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] < end) {
+                found = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return found >= 0 && ends[found] > start;
+    }
+}
@@ -0,0 +1,316 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.Event;
+import com.campus.event.domain.RoomBookingRequest;
+import com.campus.event.domain.RoomBookingStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-memory view of which rooms are occupied by APPROVED / CONFIRMED booking requests.
+ * <p>
+ * Each room keeps an immutable timeline of its booking windows sorted by start, plus a
+ * running maximum of end times, so an overlap check is a single binary search. Timelines are
+ * rebuilt copy-on-write when a booking changes, which keeps reads lock-free.
+ * <p>
+ * The index is loaded lazily from the database on first use and then maintained by
+ * {@link RoomOccupancyListener} after each committed change. Changes that arrive while the
+ * initial load is in flight are replayed on top of the loaded snapshot; every operation is an
+ * idempotent upsert/remove keyed by booking id, so the replay is safe. Callers that arrive during
+ * the load wait for it rather than reading a half-empty index, and a load overlapped by
+ * {@link #invalidate()} reads the database again instead of publishing its older snapshot.
+ */
+@Component
+public class RoomOccupancyIndex {
+    private static final Logger log = LoggerFactory.getLogger(RoomOccupancyIndex.class);
+
+    /** One occupied window of a room. Times are local wall-clock seconds (UTC offset is irrelevant). */
+    record Entry(long bookingId, long roomId, Long eventId, long start, long end) {
+    }
+
+    /** Sorted, immutable per-room timeline. */
+    static final class Timeline {
+        private static final Timeline EMPTY = new Timeline(new Entry[0]);
+
+        private final Entry[] entries;
+        private final long[] starts;
+        private final long[] maxEnds;
+
+        private Timeline(Entry[] sorted) {
+            this.entries = sorted;
+            this.starts = new long[sorted.length];
+            this.maxEnds = new long[sorted.length];
+            long maxEnd = Long.MIN_VALUE;
+            for (int i = 0; i < sorted.length; i++) {
+                starts[i] = sorted[i].start();
+                maxEnd = Math.max(maxEnd, sorted[i].end());
+                maxEnds[i] = maxEnd;
+            }
+        }
+
+        static Timeline of(List<Entry> entries) {
+            if (entries.isEmpty()) return EMPTY;
+            Entry[] sorted = entries.toArray(new Entry[0]);
+            Arrays.sort(sorted, Comparator.comparingLong(Entry::start).thenComparingLong(Entry::bookingId));
+            return new Timeline(sorted);
+        }
+
+        /** True when any window overlaps the half-open range [start, end). */
+        boolean overlaps(long start, long end) {
+            int last = lastStartingBefore(end);
+            return last >= 0 && maxEnds[last] > start;
+        }
+
+        /** Windows overlapping [start, end), in start order. */
+        List<Entry> overlapping(long start, long end) {
+            int last = lastStartingBefore(end);
+            List<Entry> out = new ArrayList<>();
+            for (int i = 0; i <= last; i++) {
+                if (entries[i].end() > start) out.add(entries[i]);
+            }
+            return out;
+        }
+
+        private int lastStartingBefore(long end) {
+            int lo = 0;
+            int hi = starts.length - 1;
+            int found = -1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] < end) {
+                    found = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return found;
+        }
+    }
+
+    private final Map<Long, Timeline> timelines = new ConcurrentHashMap<>();
+    // Guarded by "this"
+    private final Map<Long, Entry> byBooking = new HashMap<>();
+    private final List<Runnable> pendingWhileLoading = new ArrayList<>();
+    private volatile boolean loaded;
+    private boolean loading;
+    // Bumped by invalidate(); a load that sees it change started from data that may be stale
+    private long generation;
+
+    /**
+     * Loads the index from {@code loader} unless it is already loaded, or waits for a load in
+     * progress on another thread. The loader must return every APPROVED / CONFIRMED booking request.
+     */
+    public void ensureLoaded(Supplier<List<RoomBookingRequest>> loader) {
+        if (loaded) return;
+        long loadGeneration;
+        synchronized (this) {
+            awaitLoadInProgress();
+            if (loaded) return;
+            loading = true;
+            loadGeneration = generation;
+        }
+        while (true) {
+            List<RoomBookingRequest> snapshot;
+            try {
+                snapshot = loader.get();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    loading = false;
+                    pendingWhileLoading.clear();
+                    notifyAll();
+                }
+                throw e;
+            }
+            synchronized (this) {
+                if (generation != loadGeneration) {
+                    // Invalidated while reading; the snapshot may predate the change
+                    loadGeneration = generation;
+                    continue;
+                }
+                publish(snapshot);
+                loading = false;
+                loaded = true;
+                notifyAll();
+            }
+            break;
+        }
+        log.info("Room occupancy index loaded with {} booking windows", byBookingSize());
+    }
+
+    // Caller holds the monitor
+    private void awaitLoadInProgress() {
+        boolean interrupted = false;
+        while (loading) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private synchronized int byBookingSize() {
+        return byBooking.size();
+    }
+
+    // Caller holds the monitor
+    private void publish(List<RoomBookingRequest> snapshot) {
+        byBooking.clear();
+        timelines.clear();
+        long transientKey = 0;
+        for (RoomBookingRequest r : snapshot) {
+            // Rows without an id (not yet flushed) can never be updated by id; key them apart
+            Long key = r.getId() != null ? r.getId() : --transientKey;
+            Entry e = toEntry(key, r);
+            if (e != null) byBooking.put(key, e);
+        }
+        for (Runnable op : pendingWhileLoading) {
+            op.run();
+        }
+        pendingWhileLoading.clear();
+        rebuildAll();
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /** Drops all state; the next {@link #ensureLoaded} call reloads from the database. */
+    public synchronized void invalidate() {
+        generation++;
+        loaded = false;
+        byBooking.clear();
+        timelines.clear();
+    }
+
+    public boolean isFree(Long roomId, LocalDateTime start, LocalDateTime end) {
+        if (roomId == null || start == null || end == null) return true;
+        Timeline t = timelines.get(roomId);
+        return t == null || !t.overlaps(seconds(start), seconds(end));
+    }
+
+    /** Booking request ids occupying {@code roomId} during [start, end), in start order. */
+    public List<Long> occupyingBookingIds(Long roomId, LocalDateTime start, LocalDateTime end) {
+        if (roomId == null || start == null || end == null) return List.of();
+        Timeline t = timelines.get(roomId);
+        if (t == null) return List.of();
+        return t.overlapping(seconds(start), seconds(end)).stream().map(Entry::bookingId).toList();
+    }
+
+    /** Records the current state of a booking: indexed if it holds a room, otherwise removed. */
+    public void apply(Long bookingId, RoomBookingStatus status, Long roomId, Long eventId,
+                      LocalDateTime start, LocalDateTime end) {
+        if (bookingId == null) return;
+        Entry entry = occupies(status, roomId, start, end)
+                ? new Entry(bookingId, roomId, eventId, seconds(start), seconds(end))
+                : null;
+        mutate(() -> {
+            Entry previous = entry != null ? byBooking.put(bookingId, entry) : byBooking.remove(bookingId);
+            if (previous != null && (entry == null || previous.roomId() != entry.roomId())) {
+                rebuild(previous.roomId());
+            }
+            if (entry != null) rebuild(entry.roomId());
+        });
+    }
+
+    public void remove(Long bookingId) {
+        apply(bookingId, null, null, null, null, null);
+    }
+
+    /** Moves every indexed window that belongs to {@code eventId} to the event's new times. */
+    public void rescheduleEvent(Long eventId, LocalDateTime start, LocalDateTime end) {
+        if (eventId == null || start == null || end == null) return;
+        long s = seconds(start);
+        long e = seconds(end);
+        mutate(() -> {
+            List<Long> touchedRooms = new ArrayList<>();
+            for (Map.Entry<Long, Entry> me : byBooking.entrySet()) {
+                Entry old = me.getValue();
+                if (eventId.equals(old.eventId()) && (old.start() != s || old.end() != e)) {
+                    me.setValue(new Entry(old.bookingId(), old.roomId(), eventId, s, e));
+                    touchedRooms.add(old.roomId());
+                }
+            }
+            touchedRooms.forEach(this::rebuild);
+        });
+    }
+
+    private synchronized void mutate(Runnable op) {
+        if (loading) {
+            pendingWhileLoading.add(op);
+        } else if (loaded) {
+            op.run();
+        }
+        // Not loaded and not loading: the next load reads the committed state anyway.
+    }
+
+    private void rebuildAll() {
+        Map<Long, List<Entry>> perRoom = new HashMap<>();
+        for (Entry e : byBooking.values()) {
+            perRoom.computeIfAbsent(e.roomId(), k -> new ArrayList<>()).add(e);
+        }
+        perRoom.forEach((roomId, entries) -> timelines.put(roomId, Timeline.of(entries)));
+    }
+
+    private void rebuild(long roomId) {
+        List<Entry> entries = new ArrayList<>();
+        for (Entry e : byBooking.values()) {
+            if (e.roomId() == roomId) entries.add(e);
+        }
+        if (entries.isEmpty()) {
+            timelines.remove(roomId);
+        } else {
+            timelines.put(roomId, Timeline.of(entries));
+        }
+    }
+
+    private static Entry toEntry(long key, RoomBookingRequest r) {
+        if (r.getAllocatedRoom() == null) return null;
+        LocalDateTime start = windowStart(r);
+        LocalDateTime end = windowEnd(r);
+        if (!occupies(r.getStatus(), r.getAllocatedRoom().getId(), start, end)) return null;
+        Long eventId = r.getEvent() != null ? r.getEvent().getId() : null;
+        return new Entry(key, r.getAllocatedRoom().getId(), eventId, seconds(start), seconds(end));
+    }
+
+    /**
+     * The materialized effective window when present, otherwise derived the same way: event time
+     * if the request is for an event, meeting time if not.
+     */
+    static LocalDateTime windowStart(RoomBookingRequest r) {
+        if (r.getEffectiveStart() != null) return r.getEffectiveStart();
+        Event e = r.getEvent();
+        if (e != null && e.getStartTime() != null) return e.getStartTime();
+        return r.getMeetingStart();
+    }
+
+    static LocalDateTime windowEnd(RoomBookingRequest r) {
+        if (r.getEffectiveEnd() != null) return r.getEffectiveEnd();
+        Event e = r.getEvent();
+        if (e != null && e.getEndTime() != null) return e.getEndTime();
+        return r.getMeetingEnd();
+    }
+
+    private static boolean occupies(RoomBookingStatus status, Long roomId, LocalDateTime start, LocalDateTime end) {
+        return (status == RoomBookingStatus.APPROVED || status == RoomBookingStatus.CONFIRMED)
+                && roomId != null && start != null && end != null && start.isBefore(end);
+    }
+
+    private static long seconds(LocalDateTime t) {
+        return t.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,79 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.Event;
+import com.campus.event.domain.FixedTimetable;
+import com.campus.event.domain.RoomBookingRequest;
+import com.campus.event.domain.RoomBookingStatus;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity listener that keeps {@link RoomOccupancyIndex} in step with {@link RoomBookingRequest}
+ * rows and with event reschedules, and drops {@link WeeklyTimetableIndex} when a fixed class
+ * changes. Values are captured when Hibernate flushes and applied only after the surrounding
+ * transaction commits, so a rolled-back booking never shows up as occupied.
+ * <p>
+ * Bulk JPQL updates bypass entity callbacks; the only one ({@code rejectSplitSiblingsBulk})
+ * touches PENDING rows, which the index does not track.
+ */
+@Component
+public class RoomOccupancyListener {
+
+    private final RoomOccupancyIndex index;
+    private final WeeklyTimetableIndex timetableIndex;
+
+    public RoomOccupancyListener(RoomOccupancyIndex index, WeeklyTimetableIndex timetableIndex) {
+        this.index = index;
+        this.timetableIndex = timetableIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void afterWrite(Object entity) {
+        if (entity instanceof RoomBookingRequest r) {
+            Long bookingId = r.getId();
+            RoomBookingStatus status = r.getStatus();
+            Long roomId = r.getAllocatedRoom() != null ? r.getAllocatedRoom().getId() : null;
+            Long eventId = r.getEvent() != null ? r.getEvent().getId() : null;
+            LocalDateTime start = RoomOccupancyIndex.windowStart(r);
+            LocalDateTime end = RoomOccupancyIndex.windowEnd(r);
+            afterCommit(() -> index.apply(bookingId, status, roomId, eventId, start, end));
+        } else if (entity instanceof Event e) {
+            Long eventId = e.getId();
+            LocalDateTime start = e.getStartTime();
+            LocalDateTime end = e.getEndTime();
+            afterCommit(() -> index.rescheduleEvent(eventId, start, end));
+        } else if (entity instanceof FixedTimetable) {
+            afterCommit(timetableIndex::invalidate);
+        }
+    }
+
+    @PostRemove
+    public void afterRemove(Object entity) {
+        if (entity instanceof RoomBookingRequest r) {
+            Long bookingId = r.getId();
+            afterCommit(() -> index.remove(bookingId));
+        } else if (entity instanceof FixedTimetable) {
+            afterCommit(timetableIndex::invalidate);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -21,17 +21,20 @@ public class ScheduleService {
     private final RoomBookingRequestRepository bookingRepository;
     private final UserRepository userRepository;
     private final BuildingTimetableService buildingTimetableService;
+    private final WeeklyTimetableIndex timetableIndex;
 
     public ScheduleService(FixedTimetableRepository fixedTimetableRepository,
                          RoomRepository roomRepository,
                          RoomBookingRequestRepository bookingRepository,
                          UserRepository userRepository,
-                         BuildingTimetableService buildingTimetableService) {
+                         BuildingTimetableService buildingTimetableService,
+                         WeeklyTimetableIndex timetableIndex) {
         this.fixedTimetableRepository = fixedTimetableRepository;
         this.roomRepository = roomRepository;
         this.bookingRepository = bookingRepository;
         this.userRepository = userRepository;
         this.buildingTimetableService = buildingTimetableService;
+        this.timetableIndex = timetableIndex;
     }
     
     // Fixed Timetable operations
@@ -69,6 +72,7 @@ public class ScheduleService {
             request.getStartTime(), request.getEndTime(), request.getAcademicYear()
         );
         
+        // RoomOccupancyListener refreshes the weekly timetable index once this commits
         return fixedTimetableRepository.save(timetable);
     }
     
@@ -82,29 +86,60 @@ public class ScheduleService {
     
     public boolean hasBookingConflict(Long roomId, LocalDate date, 
                                     LocalTime startTime, LocalTime endTime) {
-        DayOfWeek dayOfWeek = date.getDayOfWeek();
-        
-        // Check against fixed timetable
-        boolean hasFixedConflict = hasTimeSlotConflict(roomId, dayOfWeek, startTime, endTime);
-        if (hasFixedConflict) return true;
-        
-        // Check against existing bookings
-        List<RoomBookingRequest> conflictingBookings = bookingRepository.findConflictingBookings(roomId, 
-            LocalDateTime.of(date, startTime), LocalDateTime.of(date, endTime));
-        return !conflictingBookings.isEmpty();
+        return !getDayOccupancy(roomId, date).isFree(startTime, endTime);
+    }
+
+    public RoomDayOccupancy getDayOccupancy(Long roomId, LocalDate date) {
+        return getDayOccupancy(List.of(roomId), date).get(roomId);
+    }
+
+    /**
+     * Fixed classes and APPROVED / CONFIRMED bookings of every given room on {@code date}. Bookings
+     * come from one overlap query; classes from the weekly timetable index, which costs one more
+     * query only when it has to load.
+     */
+    public Map<Long, RoomDayOccupancy> getDayOccupancy(Collection<Long> roomIds, LocalDate date) {
+        Map<Long, RoomDayOccupancy.Builder> builders = new LinkedHashMap<>();
+        for (Long id : roomIds) {
+            if (id != null) builders.put(id, new RoomDayOccupancy.Builder(id, date));
+        }
+        if (builders.isEmpty()) return Map.of();
+        LocalDateTime dayStart = date.atStartOfDay();
+        LocalDateTime dayEnd = date.plusDays(1).atStartOfDay();
+
+        for (RoomBookingRequestRepository.OccupiedWindow w : bookingRepository.findOccupiedWindows(builders.keySet(), dayStart, dayEnd)) {
+            RoomDayOccupancy.Builder b = builders.get(w.getRoomId());
+            if (b != null) b.busy(w.getWindowStart(), w.getWindowEnd());
+        }
+        builders.forEach((id, b) -> {
+            for (WeeklyTimetableIndex.Occurrence o : timetableIndex.conflicts(
+                    fixedTimetableRepository::findAllActiveOrderByDayAndTime, id, dayStart, dayEnd)) {
+                b.busy(o.slot().startTime(), o.slot().endTime());
+            }
+        });
+
+        Map<Long, RoomDayOccupancy> out = new LinkedHashMap<>();
+        builders.forEach((id, b) -> out.put(id, b.build()));
+        return out;
     }
     
     public Map<String, List<String>> validateEventRoomPreferences(Long pref1Id, Long pref2Id, Long pref3Id, LocalDateTime startTime, LocalDateTime endTime) {
+        List<Long> prefIds = nonNullPrefs(pref1Id, pref2Id, pref3Id);
+        Map<Long, List<List<String>>> perSlot = findConflicts(prefIds, List.of(new RoomAvailabilityService.TimeWindow(startTime, endTime)), null);
         Map<String, List<String>> conflicts = new HashMap<>();
-        if (pref1Id != null) conflicts.put(pref1Id.toString(), getRoomConflicts(pref1Id, startTime, endTime));
-        if (pref2Id != null) conflicts.put(pref2Id.toString(), getRoomConflicts(pref2Id, startTime, endTime));
-        if (pref3Id != null) conflicts.put(pref3Id.toString(), getRoomConflicts(pref3Id, startTime, endTime));
+        for (Long prefId : prefIds) {
+            conflicts.put(prefId.toString(), perSlot.get(prefId).get(0));
+        }
         return conflicts;
     }
 
     /**
      * Multi-slot-aware validation: checks each time slot individually for conflicts.
      * Used for MULTI_DAY_FIXED and FLEXIBLE events where conflicts must be checked per-day.
+     * <p>
+     * An approved booking holds its room for the event's whole span, from the first slot's start
+     * to the last slot's end (one window per booking, enforced by {@code room_booking_no_overlap}).
+     * Bookings that fall between slots therefore conflict too and are reported as "[Between days]".
      */
     public Map<String, List<String>> validateEventRoomPreferencesMultiSlot(
             Long pref1Id, Long pref2Id, Long pref3Id,
@@ -119,77 +154,136 @@ public class ScheduleService {
             return validateEventRoomPreferences(pref1Id, pref2Id, pref3Id, slot.getSlotStart(), slot.getSlotEnd());
         }
 
+        List<Long> prefIds = nonNullPrefs(pref1Id, pref2Id, pref3Id);
+        List<RoomAvailabilityService.TimeWindow> windows = timeSlots.stream()
+            .map(slot -> new RoomAvailabilityService.TimeWindow(slot.getSlotStart(), slot.getSlotEnd()))
+            .collect(Collectors.toList());
+        Map<Long, List<String>> betweenSlots = new HashMap<>();
+        Map<Long, List<List<String>>> perSlot = findConflicts(prefIds, windows, betweenSlots);
+
         Map<String, List<String>> conflicts = new HashMap<>();
-        Long[] prefIds = {pref1Id, pref2Id, pref3Id};
         for (Long prefId : prefIds) {
-            if (prefId == null) continue;
             List<String> allMessages = new ArrayList<>();
-            for (com.campus.event.domain.EventTimeSlot slot : timeSlots) {
-                List<String> slotConflicts = getRoomConflicts(prefId, slot.getSlotStart(), slot.getSlotEnd());
-                for (String msg : slotConflicts) {
+            List<List<String>> roomMessages = perSlot.get(prefId);
+            for (int i = 0; i < timeSlots.size(); i++) {
+                com.campus.event.domain.EventTimeSlot slot = timeSlots.get(i);
+                for (String msg : roomMessages.get(i)) {
                     allMessages.add("[Day " + (slot.getDayIndex() != null ? slot.getDayIndex() + 1 : "?") + "] " + msg);
                 }
             }
+            for (String msg : betweenSlots.getOrDefault(prefId, List.of())) {
+                allMessages.add("[Between days] " + msg);
+            }
             conflicts.put(prefId.toString(), allMessages);
         }
         return conflicts;
     }
 
     public List<String> getRoomConflicts(Long roomId, LocalDateTime start, LocalDateTime end) {
-        List<String> messages = new ArrayList<>();
-        Room room = roomRepository.findById(roomId).orElse(null);
-        if (room == null) return messages;
+        if (roomId == null) return new ArrayList<>();
+        return findConflicts(List.of(roomId), List.of(new RoomAvailabilityService.TimeWindow(start, end)), null).get(roomId).get(0);
+    }
 
-        Long buildingId = room.getFloor() != null && room.getFloor().getBuilding() != null
-                ? room.getFloor().getBuilding().getId() : null;
-        if (buildingId != null && !buildingTimetableService.isBookingWithinBuildingHours(buildingId, start, end)) {
-            messages.add("Requested time is outside this building's operating hours (see building timetable).");
+    /**
+     * Conflict messages for every room in every window: {@code result.get(roomId).get(i)} answers
+     * {@code windows.get(i)}. Rooms and bookings for the whole span come from one query each;
+     * building hours and fixed classes are answered from their in-memory tables. Each room's
+     * bookings are then swept once against its windows in start order. When {@code betweenWindows}
+     * is given, bookings of the span that overlap none of the windows are added to it per room.
+     */
+    private Map<Long, List<List<String>>> findConflicts(Collection<Long> roomIds, List<RoomAvailabilityService.TimeWindow> windows,
+                                                        Map<Long, List<String>> betweenWindows) {
+        Map<Long, List<List<String>>> out = new LinkedHashMap<>();
+        Set<Long> ids = new LinkedHashSet<>(roomIds);
+        for (Long id : ids) {
+            List<List<String>> perWindow = new ArrayList<>(windows.size());
+            for (int i = 0; i < windows.size(); i++) perWindow.add(new ArrayList<>());
+            out.put(id, perWindow);
         }
 
-        // Check against existing bookings for the whole period
-        List<RoomBookingRequest> conflictingBookings = bookingRepository.findConflictingBookings(roomId, start, end);
-        for (RoomBookingRequest b : conflictingBookings) {
-            String title = b.getEvent() != null ? b.getEvent().getTitle() : b.getMeetingPurpose();
-            messages.add("Booking conflict: " + title);
+        LocalDateTime spanStart = null;
+        LocalDateTime spanEnd = null;
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < windows.size(); i++) {
+            RoomAvailabilityService.TimeWindow w = windows.get(i);
+            if (w == null || w.start() == null || w.end() == null || !w.start().isBefore(w.end())) continue;
+            order.add(i);
+            if (spanStart == null || w.start().isBefore(spanStart)) spanStart = w.start();
+            if (spanEnd == null || w.end().isAfter(spanEnd)) spanEnd = w.end();
         }
+        if (ids.isEmpty() || order.isEmpty()) return out;
+        order.sort(Comparator.comparing((Integer i) -> windows.get(i).start()));
 
-        // Check against timetable for each day spanned by the event
-        LocalDate currentDate = start.toLocalDate();
-        LocalDate endDate = end.toLocalDate();
-        LocalTime timeStart = start.toLocalTime();
-        LocalTime timeEnd = end.toLocalTime();
+        Map<Long, Long> buildingByRoom = new HashMap<>();
+        for (RoomRepository.RoomBuilding rb : roomRepository.findRoomBuildings(ids)) {
+            buildingByRoom.put(rb.getRoomId(), rb.getBuildingId());
+        }
+        // Unknown rooms report no conflicts
+        if (buildingByRoom.isEmpty()) return out;
+        Map<Long, List<RoomBookingRequestRepository.BookedWindow>> booked = bookingRepository
+            .findBookedWindows(buildingByRoom.keySet(), spanStart, spanEnd).stream()
+            .collect(Collectors.groupingBy(RoomBookingRequestRepository.BookedWindow::getRoomId));
 
-        while (!currentDate.isAfter(endDate)) {
-            DayOfWeek day = currentDate.getDayOfWeek();
-            
-            LocalTime checkStart = (currentDate.isEqual(start.toLocalDate())) ? timeStart : LocalTime.MIN;
-            LocalTime checkEnd = (currentDate.isEqual(endDate)) ? timeEnd : LocalTime.MAX;
+        for (Long roomId : ids) {
+            if (!buildingByRoom.containsKey(roomId)) continue;
+            Long buildingId = buildingByRoom.get(roomId);
+            List<List<String>> perWindow = out.get(roomId);
+            List<RoomBookingRequestRepository.BookedWindow> roomBooked = booked.getOrDefault(roomId, List.of());
+            List<RoomBookingRequestRepository.BookedWindow> active = new ArrayList<>();
+            Set<RoomBookingRequestRepository.BookedWindow> reported = Collections.newSetFromMap(new IdentityHashMap<>());
+            int next = 0;
 
-            List<FixedTimetable> timetableConflicts = fixedTimetableRepository.findByRoomIdOrderByDayOfWeekAscStartTimeAsc(roomId).stream()
-                .filter(ft -> ft.isActive() && ft.getDayOfWeek() == day &&
-                        ft.getStartTime().isBefore(checkEnd) && ft.getEndTime().isAfter(checkStart))
-                .collect(Collectors.toList());
+            for (int i : order) {
+                LocalDateTime start = windows.get(i).start();
+                LocalDateTime end = windows.get(i).end();
+                List<String> messages = perWindow.get(i);
 
-            for (FixedTimetable ft : timetableConflicts) {
-                messages.add("Timetable conflict on " + day + " (" + currentDate + "): " + ft.getCourseCode() + " from " + ft.getStartTime() + " to " + ft.getEndTime());
-            }
+                if (buildingId != null && !buildingTimetableService.isBookingWithinBuildingHours(buildingId, start, end)) {
+                    messages.add("Requested time is outside this building's operating hours (see building timetable).");
+                }
 
-            currentDate = currentDate.plusDays(1);
+                // Bookings arrive in start order: admit those starting before this window ends and
+                // retire those that ended before it starts, since later windows start later still
+                while (next < roomBooked.size() && roomBooked.get(next).getWindowStart().isBefore(end)) {
+                    active.add(roomBooked.get(next++));
+                }
+                active.removeIf(b -> !b.getWindowEnd().isAfter(start));
+                for (RoomBookingRequestRepository.BookedWindow b : active) {
+                    if (b.getWindowStart().isBefore(end)) {
+                        messages.add("Booking conflict: " + b.getTitle());
+                        reported.add(b);
+                    }
+                }
+
+                for (WeeklyTimetableIndex.Occurrence o : timetableIndex.conflicts(
+                        fixedTimetableRepository::findAllActiveOrderByDayAndTime, roomId, start, end)) {
+                    WeeklyTimetableIndex.ClassSlot ft = o.slot();
+                    messages.add("Timetable conflict on " + o.date().getDayOfWeek() + " (" + o.date() + "): " + ft.courseCode() + " from " + ft.startTime() + " to " + ft.endTime());
+                }
+            }
+            if (betweenWindows != null) {
+                for (RoomBookingRequestRepository.BookedWindow b : roomBooked) {
+                    if (!reported.contains(b)) {
+                        betweenWindows.computeIfAbsent(roomId, k -> new ArrayList<>()).add("Booking conflict: " + b.getTitle());
+                    }
+                }
+            }
         }
+        return out;
+    }
 
-        return messages;
+    private static List<Long> nonNullPrefs(Long... prefIds) {
+        List<Long> out = new ArrayList<>();
+        for (Long id : prefIds) {
+            if (id != null && !out.contains(id)) out.add(id);
+        }
+        return out;
     }
     
     public List<String> getAvailableSlots(Long roomId, LocalDate date) {
-        List<String> availableSlots = new ArrayList<>();
-        
-        for (TimeSlot slot : TimeSlot.values()) {
-            if (!hasBookingConflict(roomId, date, slot.getStart(), slot.getEnd())) {
-                availableSlots.add(slot.getDisplayName());
-            }
-        }
-        
-        return availableSlots;
+        return getDayOccupancy(roomId, date).freeSlots().stream()
+            .map(TimeSlot::getDisplayName)
+            .collect(Collectors.toList());
     }
     
     // Combined schedule for a specific day
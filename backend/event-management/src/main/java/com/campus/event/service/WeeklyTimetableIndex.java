@@ -0,0 +1,204 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.FixedTimetable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * In-memory weekly matrix of active fixed classes: room x {@link DayOfWeek} -> class intervals
+ * sorted by start, with a running maximum of end times so an overlap check is one binary search.
+ * <p>
+ * Fixed classes repeat every week and change only when the timetable is edited, so the whole
+ * matrix is one immutable snapshot loaded lazily from the database. {@link RoomOccupancyListener}
+ * drops it after any committed change to a {@link FixedTimetable} row and the next read reloads.
+ */
+@Component
+public class WeeklyTimetableIndex {
+    private static final Logger log = LoggerFactory.getLogger(WeeklyTimetableIndex.class);
+
+    private static final int END_OF_DAY = 24 * 60 * 60;
+
+    /** One weekly class occurrence. Times are seconds of the day; {@code end} may be 86400. */
+    public record ClassSlot(Long timetableId, String courseCode, LocalTime startTime, LocalTime endTime,
+                            int start, int end) {
+    }
+
+    /** A class met on a concrete date while walking a date-time window. */
+    public record Occurrence(LocalDate date, ClassSlot slot) {
+    }
+
+    /** Sorted, immutable classes of one room on one weekday. */
+    static final class Day {
+        private final ClassSlot[] slots;
+        private final int[] starts;
+        private final int[] maxEnds;
+
+        private Day(ClassSlot[] sorted) {
+            this.slots = sorted;
+            this.starts = new int[sorted.length];
+            this.maxEnds = new int[sorted.length];
+            int maxEnd = Integer.MIN_VALUE;
+            for (int i = 0; i < sorted.length; i++) {
+                starts[i] = sorted[i].start();
+                maxEnd = Math.max(maxEnd, sorted[i].end());
+                maxEnds[i] = maxEnd;
+            }
+        }
+
+        static Day of(List<ClassSlot> slots) {
+            ClassSlot[] sorted = slots.toArray(new ClassSlot[0]);
+            Arrays.sort(sorted, Comparator.comparingInt(ClassSlot::start).thenComparingInt(ClassSlot::end));
+            return new Day(sorted);
+        }
+
+        /** True when any class overlaps the half-open range [start, end). */
+        boolean overlaps(int start, int end) {
+            int last = lastStartingBefore(end);
+            return last >= 0 && maxEnds[last] > start;
+        }
+
+        void collectOverlapping(LocalDate date, int start, int end, List<Occurrence> out) {
+            int last = lastStartingBefore(end);
+            for (int i = 0; i <= last; i++) {
+                if (slots[i].end() > start) out.add(new Occurrence(date, slots[i]));
+            }
+        }
+
+        private int lastStartingBefore(int end) {
+            int lo = 0;
+            int hi = starts.length - 1;
+            int found = -1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] < end) {
+                    found = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return found;
+        }
+    }
+
+    /** Indexed by {@code DayOfWeek.ordinal()}; a null element means no classes that day. */
+    private volatile Map<Long, Day[]> rooms;
+
+    /**
+     * Loads the matrix from {@code loader} unless a current one is cached. The loader must return
+     * every active fixed class.
+     */
+    public void ensureLoaded(Supplier<List<FixedTimetable>> loader) {
+        snapshot(loader);
+    }
+
+    public boolean isLoaded() {
+        return rooms != null;
+    }
+
+    /** Drops the matrix; the next read reloads it from the database. */
+    public synchronized void invalidate() {
+        rooms = null;
+    }
+
+    /** True when an active fixed class of {@code roomId} overlaps [start, end) on any day it spans. */
+    public boolean hasConflict(Supplier<List<FixedTimetable>> loader, Long roomId,
+                               LocalDateTime start, LocalDateTime end) {
+        if (roomId == null || start == null || end == null || !start.isBefore(end)) return false;
+        Day[] week = snapshot(loader).get(roomId);
+        if (week == null) return false;
+        LocalDate date = start.toLocalDate();
+        LocalDate endDate = end.toLocalDate();
+        // The first day plus seven whole days cover every weekday entirely; later days add nothing
+        for (int days = 0; !date.isAfter(endDate) && days < 8; days++) {
+            Day day = week[date.getDayOfWeek().ordinal()];
+            if (day != null && day.overlaps(dayStart(date, start), dayEnd(date, end))) {
+                return true;
+            }
+            date = date.plusDays(1);
+        }
+        return false;
+    }
+
+    /** Every class of {@code roomId} met during [start, end), by date then class start. */
+    public List<Occurrence> conflicts(Supplier<List<FixedTimetable>> loader, Long roomId,
+                                      LocalDateTime start, LocalDateTime end) {
+        if (roomId == null || start == null || end == null || !start.isBefore(end)) return List.of();
+        Day[] week = snapshot(loader).get(roomId);
+        if (week == null) return List.of();
+        List<Occurrence> out = new ArrayList<>();
+        LocalDate date = start.toLocalDate();
+        LocalDate endDate = end.toLocalDate();
+        while (!date.isAfter(endDate)) {
+            Day day = week[date.getDayOfWeek().ordinal()];
+            if (day != null) {
+                day.collectOverlapping(date, dayStart(date, start), dayEnd(date, end), out);
+            }
+            date = date.plusDays(1);
+        }
+        return out;
+    }
+
+    private Map<Long, Day[]> snapshot(Supplier<List<FixedTimetable>> loader) {
+        Map<Long, Day[]> current = rooms;
+        if (current != null) return current;
+        synchronized (this) {
+            if (rooms != null) return rooms;
+            // Loading under the lock makes a concurrent invalidate() wait, so it always lands after
+            Map<Long, Day[]> built = build(loader.get());
+            rooms = built;
+            log.info("Weekly timetable index loaded for {} rooms", built.size());
+            return built;
+        }
+    }
+
+    private static Map<Long, Day[]> build(List<FixedTimetable> classes) {
+        Map<Long, List<List<ClassSlot>>> grouped = new HashMap<>();
+        for (FixedTimetable ft : classes) {
+            if (!ft.isActive() || ft.getRoom() == null || ft.getRoom().getId() == null
+                    || ft.getDayOfWeek() == null || ft.getStartTime() == null || ft.getEndTime() == null) {
+                continue;
+            }
+            int start = ft.getStartTime().toSecondOfDay();
+            int end = ft.getEndTime().equals(LocalTime.MAX) ? END_OF_DAY : ft.getEndTime().toSecondOfDay();
+            if (end <= start) continue;
+            List<List<ClassSlot>> week = grouped.computeIfAbsent(ft.getRoom().getId(), k -> {
+                List<List<ClassSlot>> days = new ArrayList<>(7);
+                for (int i = 0; i < 7; i++) days.add(new ArrayList<>());
+                return days;
+            });
+            week.get(ft.getDayOfWeek().ordinal()).add(
+                    new ClassSlot(ft.getId(), ft.getCourseCode(), ft.getStartTime(), ft.getEndTime(), start, end));
+        }
+        Map<Long, Day[]> out = new HashMap<>();
+        grouped.forEach((roomId, week) -> {
+            Day[] days = new Day[7];
+            for (int i = 0; i < 7; i++) {
+                if (!week.get(i).isEmpty()) days[i] = Day.of(week.get(i));
+            }
+            out.put(roomId, days);
+        });
+        return Map.copyOf(out);
+    }
+
+    private static int dayStart(LocalDate date, LocalDateTime start) {
+        return date.isEqual(start.toLocalDate()) ? start.toLocalTime().toSecondOfDay() : 0;
+    }
+
+    private static int dayEnd(LocalDate date, LocalDateTime end) {
+        return date.isEqual(end.toLocalDate()) ? end.toLocalTime().toSecondOfDay() : END_OF_DAY;
+    }
+}
@@ -1,6 +1,7 @@
 package com.campus.event.web;
 
 import com.campus.event.repository.UserRepository;
+import com.campus.event.security.PrincipalCache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -16,9 +17,11 @@ import java.util.stream.Collectors;
 public class AdminController {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
-    public AdminController(UserRepository userRepository) {
+    public AdminController(UserRepository userRepository, PrincipalCache principalCache) {
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
     }
 
     @GetMapping("/role-requests")
@@ -60,6 +63,8 @@ public class AdminController {
                     user.getRoles().add(user.getRequestedRole());
                     user.setRequestedRole(null);
                     userRepository.save(user);
+                    // Cached authorities are stale now
+                    principalCache.invalidateUser(user.getUsername());
                     return ResponseEntity.ok("Approved");
                 })
                 .orElse(ResponseEntity.notFound().build());
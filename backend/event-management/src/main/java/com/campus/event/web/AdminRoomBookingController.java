@@ -16,6 +16,7 @@ import com.campus.event.repository.UserRepository;
 import com.campus.event.service.NotificationService;
 import com.campus.event.service.RoomApprovalRules;
 import com.campus.event.service.ScheduleService;
+import com.campus.event.web.dto.RoomRequestResponse;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -24,6 +25,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -48,12 +50,14 @@ public class AdminRoomBookingController {
     private final EventRegistrationRepository registrationRepo;
     private final ScheduleService scheduleService;
     private final EventTimeSlotRepository eventTimeSlotRepository;
+    private final com.campus.event.service.RoomBookingWriter bookingWriter;
 
     public AdminRoomBookingController(RoomBookingRequestRepository requestRepo, RoomRepository roomRepo,
                                       UserRepository userRepository, NotificationService notificationService,
                                       ScheduleService scheduleService,
                                       EventRegistrationRepository registrationRepo,
-                                      EventTimeSlotRepository eventTimeSlotRepository) {
+                                      EventTimeSlotRepository eventTimeSlotRepository,
+                                      com.campus.event.service.RoomBookingWriter bookingWriter) {
         this.requestRepo = requestRepo;
         this.roomRepo = roomRepo;
         this.userRepository = userRepository;
@@ -61,11 +65,12 @@ public class AdminRoomBookingController {
         this.scheduleService = scheduleService;
         this.registrationRepo = registrationRepo;
         this.eventTimeSlotRepository = eventTimeSlotRepository;
+        this.bookingWriter = bookingWriter;
     }
 
     @GetMapping
     @Transactional(readOnly = true)
-    public List<Map<String, Object>> list(@RequestParam(value = "status", required = false) String status,
+    public List<RoomRequestResponse> list(@RequestParam(value = "status", required = false) String status,
                                           @AuthenticationPrincipal UserDetails principal) {
         List<RoomBookingRequest> list = status == null
                 ? requestRepo.findRecentBookings(org.springframework.data.domain.PageRequest.of(0, 200)).getContent()
@@ -85,7 +90,7 @@ public class AdminRoomBookingController {
         //   Otherwise, ADMIN is treated as super admin and can see all requests.
         boolean adminIsBounded = currentUser.getManagedBuildingId() != null && currentUser.getAdminScope() != null;
 
-        return list.stream()
+        return toDtos(list.stream()
                 .filter(r -> {
                     if (isBuildingAdmin) {
                         return visibleToBuildingAdmin(r, currentUser);
@@ -95,8 +100,7 @@ public class AdminRoomBookingController {
                     }
                     return false;
                 })
-                .map(this::toDto)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     private static boolean visibleToBuildingAdmin(RoomBookingRequest r, User admin) {
@@ -142,66 +146,88 @@ public class AdminRoomBookingController {
         return true;
     }
 
-    private Map<String, Object> toDto(RoomBookingRequest r) {
-        Map<String, Object> m = new HashMap<>();
-        m.put("id", r.getId());
+    /** Builds the listing with one registration-count query and one slot query for all events on the page. */
+    private List<RoomRequestResponse> toDtos(List<RoomBookingRequest> requests) {
+        List<Long> eventIds = requests.stream()
+                .map(r -> r.getEvent() != null ? r.getEvent().getId() : null)
+                .filter(java.util.Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, Long> counts = new HashMap<>();
+        Map<Long, List<EventTimeSlotRepository.SlotRow>> slotsByEvent = new HashMap<>();
+        if (!eventIds.isEmpty()) {
+            registrationRepo.countByEventIds(eventIds).forEach(c -> counts.put(c.getEventId(), c.getRegistrations()));
+            eventTimeSlotRepository.findSlotRowsByEventIds(eventIds)
+                    .forEach(s -> slotsByEvent.computeIfAbsent(s.getEventId(), k -> new ArrayList<>()).add(s));
+        }
+        return requests.stream()
+                .map(r -> toDto(r, counts, slotsByEvent))
+                .collect(Collectors.toList());
+    }
+
+    private static RoomRequestResponse toDto(RoomBookingRequest r, Map<Long, Long> counts,
+                                             Map<Long, List<EventTimeSlotRepository.SlotRow>> slotsByEvent) {
+        Long eventId = null;
+        String title;
+        LocalDateTime start;
+        LocalDateTime end;
+        Long registrationCount = null;
+        String timingModel = null;
+        Integer slotCount = null;
+        List<RoomRequestResponse.Slot> slots = null;
+        Long buildingId = null;
+        String buildingName = null;
         if (r.getEvent() != null) {
             Event ev = r.getEvent();
-            m.put("eventId", ev.getId());
-            m.put("eventTitle", ev.getTitle());
-            m.put("start", ev.getStartTime());
-            m.put("end", ev.getEndTime());
-            m.put("registrationCount", registrationRepo.countByEvent_Id(ev.getId()));
+            eventId = ev.getId();
+            title = ev.getTitle();
+            start = ev.getStartTime();
+            end = ev.getEndTime();
+            registrationCount = counts.getOrDefault(ev.getId(), 0L);
             // Multi-day event metadata
             if (ev.getTimingModel() != null) {
-                m.put("timingModel", ev.getTimingModel().name());
-                List<EventTimeSlot> slots = eventTimeSlotRepository.findByEvent_IdOrderBySlotStartAsc(ev.getId());
-                m.put("slotCount", slots.size());
-                if (slots.size() > 1) {
-                    m.put("slots", slots.stream().map(s -> {
-                        Map<String, Object> sm = new HashMap<>();
-                        sm.put("day", s.getDayIndex() != null ? s.getDayIndex() + 1 : null);
-                        sm.put("slotStart", s.getSlotStart());
-                        sm.put("slotEnd", s.getSlotEnd());
-                        return sm;
-                    }).collect(Collectors.toList()));
+                timingModel = ev.getTimingModel().name();
+                List<EventTimeSlotRepository.SlotRow> eventSlots = slotsByEvent.getOrDefault(ev.getId(), List.of());
+                slotCount = eventSlots.size();
+                if (eventSlots.size() > 1) {
+                    slots = eventSlots.stream()
+                            .map(s -> new RoomRequestResponse.Slot(s.getDayIndex() != null ? s.getDayIndex() + 1 : null,
+                                    s.getSlotStart(), s.getSlotEnd()))
+                            .collect(Collectors.toList());
                 }
             }
             if (ev.getBuilding() != null) {
-                m.put("buildingId", ev.getBuilding().getId());
-                m.put("buildingName", ev.getBuilding().getName());
+                buildingId = ev.getBuilding().getId();
+                buildingName = ev.getBuilding().getName();
             }
         } else {
-            m.put("eventId", null);
-            m.put("eventTitle", r.getMeetingPurpose());
-            m.put("start", r.getMeetingStart());
-            m.put("end", r.getMeetingEnd());
-            m.put("timingModel", "SINGLE_DAY");
-            m.put("slotCount", 1);
+            title = r.getMeetingPurpose();
+            start = r.getMeetingStart();
+            end = r.getMeetingEnd();
+            timingModel = "SINGLE_DAY";
+            slotCount = 1;
             Room ref = r.getPref1();
             if (ref != null && ref.getFloor() != null && ref.getFloor().getBuilding() != null) {
-                m.put("buildingId", ref.getFloor().getBuilding().getId());
-                m.put("buildingName", ref.getFloor().getBuilding().getName());
+                buildingId = ref.getFloor().getBuilding().getId();
+                buildingName = ref.getFloor().getBuilding().getName();
             }
         }
-        m.put("status", r.getStatus().name());
-        m.put("pref1", r.getPref1() != null ? r.getPref1().getName() : null);
-        m.put("pref2", r.getPref2() != null ? r.getPref2().getName() : null);
-        m.put("pref3", r.getPref3() != null ? r.getPref3().getName() : null);
-        m.put("pref1Id", r.getPref1() != null ? r.getPref1().getId() : null);
-        m.put("pref2Id", r.getPref2() != null ? r.getPref2().getId() : null);
-        m.put("pref3Id", r.getPref3() != null ? r.getPref3().getId() : null);
-        m.put("pref1RoomType", r.getPref1() != null && r.getPref1().getType() != null ? r.getPref1().getType().name() : null);
-        m.put("approvalScope", r.getPref1() != null ? RoomApprovalRules.scopeForRoom(r.getPref1()).name() : null);
-        m.put("allocatedRoom", r.getAllocatedRoom() != null ? r.getAllocatedRoom().getName() : null);
-        m.put("requestedBy", r.getRequestedByUsername());
-        if (r.getSplitGroupId() != null) {
-            m.put("splitGroupId", r.getSplitGroupId().toString());
-            m.put("splitPart", Boolean.TRUE);
-        } else {
-            m.put("splitPart", Boolean.FALSE);
-        }
-        return m;
+        return new RoomRequestResponse(
+                r.getId(), eventId, title, start, end, registrationCount, timingModel, slotCount, slots,
+                buildingId, buildingName,
+                r.getStatus().name(),
+                r.getPref1() != null ? r.getPref1().getName() : null,
+                r.getPref2() != null ? r.getPref2().getName() : null,
+                r.getPref3() != null ? r.getPref3().getName() : null,
+                r.getPref1() != null ? r.getPref1().getId() : null,
+                r.getPref2() != null ? r.getPref2().getId() : null,
+                r.getPref3() != null ? r.getPref3().getId() : null,
+                r.getPref1() != null && r.getPref1().getType() != null ? r.getPref1().getType().name() : null,
+                r.getPref1() != null ? RoomApprovalRules.scopeForRoom(r.getPref1()).name() : null,
+                r.getAllocatedRoom() != null ? r.getAllocatedRoom().getName() : null,
+                r.getRequestedByUsername(),
+                r.getSplitGroupId() != null ? r.getSplitGroupId().toString() : null,
+                r.getSplitGroupId() != null);
     }
 
     public static class ApproveBody {
@@ -219,8 +245,8 @@ public class AdminRoomBookingController {
         if (body == null || body.allocatedRoomId == null) {
             return ResponseEntity.badRequest().body("allocatedRoomId required");
         }
-        // Force database-level pessimistic lock to serialize approvals for this room
-        Room alloc = roomRepo.findByIdWithPessimisticLock(body.allocatedRoomId).orElse(null);
+        // No room lock: overlapping approvals are rejected by the room_booking_no_overlap constraint
+        Room alloc = roomRepo.findById(body.allocatedRoomId).orElse(null);
         if (alloc == null) {
             return ResponseEntity.badRequest().body("Room not found");
         }
@@ -289,7 +315,7 @@ public class AdminRoomBookingController {
         req.setStatus(RoomBookingStatus.APPROVED);
         req.setApprovedAt(LocalDateTime.now());
         req.setApprovedByUsername(principal.getUsername());
-        requestRepo.save(req);
+        bookingWriter.save(req);
         rejectSplitSiblings(req);
 
         if (req.getRequestedByUsername() != null) {
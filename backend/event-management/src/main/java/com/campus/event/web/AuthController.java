@@ -5,6 +5,7 @@ import com.campus.event.domain.Role;
 import com.campus.event.domain.User;
 import com.campus.event.repository.UserRepository;
 import com.campus.event.security.JwtTokenService;
+import com.campus.event.security.PrincipalCache;
 import com.campus.event.web.dto.LoginRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -31,13 +32,15 @@ public class AuthController {
     private final com.campus.event.service.CustomUserDetailsService userDetailsService;
     private final org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
     private final com.campus.event.repository.PasswordResetTokenRepository tokenRepository;
+    private final PrincipalCache principalCache;
 
-    public AuthController(UserRepository userRepository, JwtTokenService jwtTokenService, com.campus.event.service.CustomUserDetailsService userDetailsService, org.springframework.security.crypto.password.PasswordEncoder passwordEncoder, com.campus.event.repository.PasswordResetTokenRepository tokenRepository) {
+    public AuthController(UserRepository userRepository, JwtTokenService jwtTokenService, com.campus.event.service.CustomUserDetailsService userDetailsService, org.springframework.security.crypto.password.PasswordEncoder passwordEncoder, com.campus.event.repository.PasswordResetTokenRepository tokenRepository, PrincipalCache principalCache) {
         this.userRepository = userRepository;
         this.jwtTokenService = jwtTokenService;
         this.userDetailsService = userDetailsService;
         this.passwordEncoder = passwordEncoder;
         this.tokenRepository = tokenRepository;
+        this.principalCache = principalCache;
     }
 
     @PostMapping("/login")
@@ -61,6 +64,8 @@ public class AuthController {
                         String token = jwtTokenService.generateToken(claims, userDetails);
                         user.setActiveSessionToken(token);
                         userRepository.save(user);
+                        // The previous session's token is no longer the active one
+                        principalCache.invalidateUser(user.getUsername());
                         return ResponseEntity.ok(Map.<String, Object>of("token", token));
                     } else {
                         return ResponseEntity.status(401).body(Map.<String, Object>of("error", "Invalid password"));
@@ -78,6 +83,7 @@ public class AuthController {
             userRepository.findByUsername(principal.getUsername()).ifPresent(u -> {
                 u.setActiveSessionToken(null);
                 userRepository.save(u);
+                principalCache.invalidateUser(u.getUsername());
             });
         }
         return ResponseEntity.ok(Map.of("message", "Logged out"));
@@ -169,6 +175,7 @@ public class AuthController {
         User user = resetToken.getUser();
         user.setPasswordHash(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        principalCache.invalidateUser(user.getUsername());
         
         resetToken.setUsed(true);
         tokenRepository.save(resetToken);
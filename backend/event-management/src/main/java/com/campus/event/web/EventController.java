@@ -8,9 +8,9 @@ import com.campus.event.repository.EventRepository;
 import com.campus.event.repository.RoomBookingRequestRepository;
 import com.campus.event.repository.UserRepository;
 import com.campus.event.service.EventService;
-import com.campus.event.repository.EventRegistrationRepository;
-import com.campus.event.service.NotificationService;
+import com.campus.event.service.BookingConflictException;
 import com.campus.event.web.dto.CreateEventRequest;
+import com.campus.event.web.dto.OrganizerEventResponse;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -32,23 +32,17 @@ public class EventController {
     private final EventRepository eventRepository;
     private final BuildingRepository buildingRepository;
     private final com.campus.event.service.BuildingTimetableService buildingTimetableService;
-    private final EventRegistrationRepository registrationRepository;
-    private final NotificationService notificationService;
     private final RoomBookingRequestRepository roomBookingRequestRepository;
 
     public EventController(EventService eventService, UserRepository userRepository,
                            EventRepository eventRepository, BuildingRepository buildingRepository,
                            com.campus.event.service.BuildingTimetableService buildingTimetableService,
-                           EventRegistrationRepository registrationRepository,
-                           NotificationService notificationService,
                            RoomBookingRequestRepository roomBookingRequestRepository) {
         this.eventService = eventService;
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
         this.buildingRepository = buildingRepository;
         this.buildingTimetableService = buildingTimetableService;
-        this.registrationRepository = registrationRepository;
-        this.notificationService = notificationService;
         this.roomBookingRequestRepository = roomBookingRequestRepository;
     }
 
@@ -193,27 +187,15 @@ public class EventController {
 
     @GetMapping("/mine")
     @PreAuthorize("hasAnyRole('ADMIN','FACULTY','CLUB_ASSOCIATE','CENTRAL_ADMIN','BUILDING_ADMIN')")
-    public ResponseEntity<List<java.util.Map<String, Object>>> myEvents(@AuthenticationPrincipal UserDetails principal) {
-        List<Event> events = eventRepository.findByCreatedBy_Username(principal.getUsername());
-        List<java.util.Map<String, Object>> body = events.stream().map(e -> {
-            java.util.HashMap<String, Object> m = new java.util.HashMap<>();
-            m.put("id", e.getId());
-            m.put("title", e.getTitle());
-            m.put("description", e.getDescription());
-            m.put("startTime", e.getStartTime());
-            m.put("endTime", e.getEndTime());
-            m.put("location", e.getLocation());
-            m.put("clubId", e.getClubId());
-            m.put("registrationSchema", e.getRegistrationSchema());
-            m.put("maxAttendees", e.getMaxAttendees());
-            m.put("buildingId", e.getBuilding() != null ? e.getBuilding().getId() : null);
-            m.put("buildingName", e.getBuilding() != null ? e.getBuilding().getName() : null);
-            boolean hasApprovedBooking = roomBookingRequestRepository.existsByEvent_IdAndStatusIn(
-                    e.getId(),
-                    Set.of(com.campus.event.domain.RoomBookingStatus.APPROVED, com.campus.event.domain.RoomBookingStatus.CONFIRMED));
-            m.put("hasApprovedBooking", hasApprovedBooking);
-            return m;
-        }).collect(java.util.stream.Collectors.toList());
+    public ResponseEntity<List<OrganizerEventResponse>> myEvents(@AuthenticationPrincipal UserDetails principal) {
+        List<EventRepository.OrganizerEventRow> events = eventRepository.findOrganizerEventRows(principal.getUsername());
+        // One query for the whole dashboard instead of one per event
+        Set<Long> booked = roomBookingRequestRepository.findEventIdsByOrganizerAndStatusIn(
+                principal.getUsername(),
+                Set.of(com.campus.event.domain.RoomBookingStatus.APPROVED, com.campus.event.domain.RoomBookingStatus.CONFIRMED));
+        List<OrganizerEventResponse> body = events.stream()
+                .map(e -> OrganizerEventResponse.of(e, booked.contains(e.getId())))
+                .collect(java.util.stream.Collectors.toList());
         return ResponseEntity.ok(body);
     }
 
@@ -235,43 +217,13 @@ public class EventController {
                     .orElseThrow(() -> new IllegalArgumentException(
                             "Building not found with ID: " + request.getBuildingId()));
 
-            String oldTitle = existing.getTitle();
-            LocalDateTime oldStart = existing.getStartTime();
-            LocalDateTime oldEnd = existing.getEndTime();
-            String oldLocation = existing.getLocation();
-
-            existing.setTitle(request.getTitle());
-            existing.setDescription(request.getDescription());
-            existing.setStartTime(request.getStart());
-            existing.setEndTime(request.getEnd());
-            existing.setBuilding(building);
-            existing.setLocation(request.getLocation());
-            if (request.getClubId() != null && !request.getClubId().isBlank()) {
-                existing.setClubId(request.getClubId());
-            }
-            existing.setRegistrationSchema(request.getRegistrationSchema());
-            existing.setMaxAttendees(request.getMaxAttendees());
-            eventRepository.save(existing);
-
-            // Notify registrants about updates
-            List<com.campus.event.domain.EventRegistration> regs = registrationRepository.findByEvent_Id(existing.getId());
-            if (!regs.isEmpty()) {
-                boolean changed = (oldTitle != null && !oldTitle.equals(existing.getTitle()))
-                        || (oldStart != null && !oldStart.equals(existing.getStartTime()))
-                        || (oldEnd != null && !oldEnd.equals(existing.getEndTime()))
-                        || (oldLocation != null && !oldLocation.equals(existing.getLocation()));
-                if (changed) {
-                    String subject = "Event updated: " + existing.getTitle();
-                    String body = "Event details updated. Title: " + existing.getTitle() + ", Start: " + existing.getStartTime() +
-                            ", End: " + existing.getEndTime() + ", Location: " + existing.getLocation();
-                    for (com.campus.event.domain.EventRegistration r : regs) {
-                        if (r.getUser() != null) {
-                            notificationService.notifyAllChannels(r.getUser(), subject, body);
-                        }
-                    }
-                }
-            }
+            eventService.updateEvent(existing.getId(), request.getTitle(), request.getDescription(),
+                    request.getStart(), request.getEnd(), building, request.getLocation(), request.getClubId(),
+                    request.getRegistrationSchema(), request.getMaxAttendees());
             return ResponseEntity.ok("Updated");
+        } catch (BookingConflictException e) {
+            // Answered as 409 with the conflict reason by GlobalExceptionHandler
+            throw e;
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
@@ -2,18 +2,13 @@ package com.campus.event.web;
 
 import com.campus.event.domain.Event;
 import com.campus.event.domain.EventRegistration;
-import com.campus.event.domain.NotificationDelivery;
-import com.campus.event.domain.NotificationMessage;
-import com.campus.event.domain.NotificationStatus;
-import com.campus.event.domain.Registration;
 import com.campus.event.domain.User;
 import com.campus.event.repository.EventRegistrationRepository;
 import com.campus.event.repository.EventRepository;
-import com.campus.event.repository.NotificationDeliveryRepository;
-import com.campus.event.repository.NotificationMessageRepository;
-import com.campus.event.repository.RegistrationRepository;
 import com.campus.event.repository.UserRepository;
-import com.campus.event.service.NotificationService;
+import com.campus.event.service.EventRegistrationService;
+import com.campus.event.service.EventSeatService;
+import com.campus.event.service.RegistrationAdmissionQueue;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -28,6 +23,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors; 
 
@@ -37,26 +33,23 @@ public class EventRegistrationController {
 
     private final EventRepository eventRepository;
     private final EventRegistrationRepository registrationRepository;
-    private final RegistrationRepository legacyRegistrationRepository;
     private final UserRepository userRepository;
-    private final NotificationService notificationService;
-    private final NotificationMessageRepository notificationMessageRepository;
-    private final NotificationDeliveryRepository notificationDeliveryRepository;
+    private final EventSeatService seatService;
+    private final EventRegistrationService registrationService;
+    private final RegistrationAdmissionQueue admissionQueue;
 
     public EventRegistrationController(EventRepository eventRepository,
                                        EventRegistrationRepository registrationRepository,
-                                       RegistrationRepository legacyRegistrationRepository,
                                        UserRepository userRepository,
-                                       NotificationService notificationService,
-                                       NotificationMessageRepository notificationMessageRepository,
-                                       NotificationDeliveryRepository notificationDeliveryRepository) {
+                                       EventSeatService seatService,
+                                       EventRegistrationService registrationService,
+                                       RegistrationAdmissionQueue admissionQueue) {
         this.eventRepository = eventRepository;
         this.registrationRepository = registrationRepository;
-        this.legacyRegistrationRepository = legacyRegistrationRepository;
         this.userRepository = userRepository;
-        this.notificationService = notificationService;
-        this.notificationMessageRepository = notificationMessageRepository;
-        this.notificationDeliveryRepository = notificationDeliveryRepository;
+        this.seatService = seatService;
+        this.registrationService = registrationService;
+        this.admissionQueue = admissionQueue;
     }
 
     @PostMapping("/events/{eventId}/register")
@@ -106,80 +99,92 @@ public class EventRegistrationController {
             }
         }
 
-        // capacity check
-        if (event.getMaxAttendees() != null && event.getMaxAttendees() > 0) {
-            long currentCount = registrationRepository.findByEvent_Id(eventId).size();
-            if (currentCount >= event.getMaxAttendees()) {
-                return ResponseEntity.status(403).body("Event is full");
-            }
-        }
+        Object fullNameValue = payload != null ? payload.get("fullName") : null;
+        String fullName = fullNameValue != null ? String.valueOf(fullNameValue) : user.getUsername();
 
-        EventRegistration reg = new EventRegistration();
-        reg.setEvent(event);
-        reg.setUser(user);
-        registrationRepository.save(reg);
-
-        // Backfill existing event notifications to late registrants so they can see prior announcements.
-        try {
-            if (user.getId() != null) {
-                List<NotificationMessage> existingMessages = notificationMessageRepository.findByEvent_IdOrderByCreatedAtDesc(eventId);
-                List<Long> alreadyDelivered = notificationDeliveryRepository.findDeliveredNotificationIdsForUserEvent(user.getId(), eventId);
-                java.util.HashSet<Long> alreadySet = new java.util.HashSet<>(alreadyDelivered);
-                java.util.List<NotificationDelivery> toCreate = new java.util.ArrayList<>();
-                for (NotificationMessage nm : existingMessages) {
-                    if (nm == null || nm.getId() == null) continue;
-                    if (alreadySet.contains(nm.getId())) continue;
-                    NotificationDelivery d = new NotificationDelivery();
-                    d.setNotification(nm);
-                    d.setUser(user);
-                    d.setDeliveryStatus(NotificationStatus.PENDING);
-                    toCreate.add(d);
-                }
-                if (!toCreate.isEmpty()) {
-                    notificationDeliveryRepository.saveAll(toCreate);
-                }
+        // high-demand events: admit through the queue and let the client poll its ticket
+        if (event.isFlashSale()) {
+            Optional<RegistrationAdmissionQueue.TicketView> ticket = admissionQueue.enqueue(eventId, user.getId(), fullName);
+            if (ticket.isEmpty()) {
+                return ResponseEntity.status(503).header("Retry-After", "5").body("Registration queue is full, try again shortly");
             }
-        } catch (Exception ignored) {
-            // Best-effort backfill; do not fail registration if backfill fails.
+            return ResponseEntity.accepted().body(ticketBody(ticket.get()));
         }
 
-        // Keep legacy email-based registrations in sync so older UI endpoints (e.g. /api/registrations/mine)
-        // also reflect this registration.
-        try {
-            String email = user.getEmail();
-            if (email != null && !legacyRegistrationRepository.existsByEventIdAndEmail(eventId, email)) {
-                Registration legacy = new Registration();
-                legacy.setEvent(event);
-                legacy.setEmail(email);
-                Object fullName = payload != null ? payload.get("fullName") : null;
-                legacy.setFullName(fullName != null ? String.valueOf(fullName) : user.getUsername());
-                legacyRegistrationRepository.save(legacy);
-            }
-        } catch (Exception ignored) {
-            // Best-effort sync; do not fail registration if legacy table insert fails.
+        // capacity check: atomically takes a seat, given back if this transaction rolls back
+        if (!seatService.tryReserve(event)) {
+            return ResponseEntity.status(403).body("Event is full");
         }
 
-        String subject = "Registration confirmed: " + event.getTitle();
-        String msg = "You are registered for '" + event.getTitle() + "' starting at " + event.getStartTime() + ".";
-        notificationService.notifyAllChannels(user, subject, msg);
+        EventRegistration reg = registrationService.register(event, user, fullName);
         return ResponseEntity.ok(Map.of("registrationId", reg.getId()));
     }
 
-    @GetMapping("/event-registrations/mine")
+    @GetMapping("/events/{eventId}/register/tickets/{ticketId}")
     @PreAuthorize("hasAnyRole('GENERAL_USER','CLUB_ASSOCIATE','FACULTY','ADMIN')")
-    public ResponseEntity<List<Map<String, Object>>> myRegistrations(@AuthenticationPrincipal UserDetails principal) {
-        List<EventRegistration> regs = registrationRepository.findByUserUsernameWithEvent(principal.getUsername());
-        List<Map<String, Object>> body = regs.stream().map(r -> {
-            HashMap<String, Object> m = new HashMap<>();
-            m.put("id", r.getId());
-            m.put("eventId", r.getEvent() != null ? r.getEvent().getId() : null);
-            m.put("title", r.getEvent() != null ? r.getEvent().getTitle() : null);
-            m.put("startTime", r.getEvent() != null ? r.getEvent().getStartTime() : null);
-            m.put("endTime", r.getEvent() != null ? r.getEvent().getEndTime() : null);
-            m.put("location", r.getEvent() != null ? r.getEvent().getLocation() : null);
-            m.put("registeredAt", r.getRegisteredAt());
-            return m;
-        }).collect(Collectors.toList());
+    public ResponseEntity<?> registrationTicket(@PathVariable Long eventId,
+                                                @PathVariable String ticketId,
+                                                @AuthenticationPrincipal UserDetails principal) {
+        User user = userRepository.findByUsername(principal.getUsername()).orElse(null);
+        if (user == null) return ResponseEntity.status(401).build();
+        Optional<RegistrationAdmissionQueue.TicketView> ticket = admissionQueue.find(ticketId, user.getId())
+                .filter(t -> t.eventId().equals(eventId));
+        if (ticket.isEmpty()) return ResponseEntity.notFound().build();
+        Map<String, Object> body = ticketBody(ticket.get());
+        if (ticket.get().status() == RegistrationAdmissionQueue.Status.WAITLISTED) {
+            // the position moves up as earlier entries are promoted or leave
+            registrationService.waitlistPosition(eventId, user.getId())
+                    .ifPresentOrElse(p -> body.put("waitlistPosition", p), () -> body.remove("waitlistPosition"));
+        }
         return ResponseEntity.ok(body);
     }
+
+    @DeleteMapping("/events/{eventId}/register")
+    @PreAuthorize("hasAnyRole('GENERAL_USER','CLUB_ASSOCIATE','FACULTY','ADMIN')")
+    public ResponseEntity<?> cancel(@PathVariable Long eventId,
+                                    @AuthenticationPrincipal UserDetails principal) {
+        if (!registrationService.cancel(eventId, principal.getUsername())) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(Map.of("status", "cancelled"));
+    }
+
+    @PutMapping("/events/{eventId}/registration-mode")
+    @PreAuthorize("hasAnyRole('ADMIN','FACULTY','CLUB_ASSOCIATE','CENTRAL_ADMIN')")
+    @Transactional
+    public ResponseEntity<?> setRegistrationMode(@PathVariable Long eventId,
+                                                 @AuthenticationPrincipal UserDetails principal,
+                                                 @RequestBody Map<String, Object> payload) {
+        Event event = eventRepository.findById(eventId).orElse(null);
+        if (event == null) return ResponseEntity.notFound().build();
+        Set<String> roles = SecurityContextHolder.getContext().getAuthentication().getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+        boolean admin = roles.contains("ROLE_ADMIN") || roles.contains("ROLE_CENTRAL_ADMIN");
+        boolean creator = event.getCreatedBy() != null && principal.getUsername().equals(event.getCreatedBy().getUsername());
+        if (!admin && !creator) {
+            return ResponseEntity.status(403).body("Only the event creator or an admin can change the registration mode");
+        }
+        Object flashSale = payload != null ? payload.get("flashSale") : null;
+        if (flashSale == null) return ResponseEntity.badRequest().body("flashSale is required");
+        event.setFlashSale(Boolean.parseBoolean(String.valueOf(flashSale)));
+        eventRepository.save(event);
+        return ResponseEntity.ok(Map.of("flashSale", event.isFlashSale()));
+    }
+
+    private static Map<String, Object> ticketBody(RegistrationAdmissionQueue.TicketView t) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("ticketId", t.ticketId());
+        body.put("status", t.status().name().toLowerCase());
+        if (t.position() != null) body.put("position", t.position());
+        if (t.registrationId() != null) body.put("registrationId", t.registrationId());
+        if (t.waitlistPosition() != null) body.put("waitlistPosition", t.waitlistPosition());
+        return body;
+    }
+
+    @GetMapping("/event-registrations/mine")
+    @PreAuthorize("hasAnyRole('GENERAL_USER','CLUB_ASSOCIATE','FACULTY','ADMIN')")
+    public ResponseEntity<List<EventRegistrationRepository.MyRegistrationRow>> myRegistrations(@AuthenticationPrincipal UserDetails principal) {
+        return ResponseEntity.ok(registrationRepository.findMyRegistrationRows(principal.getUsername()));
+    }
 }
@@ -5,9 +5,9 @@ import com.campus.event.domain.Room;
 import com.campus.event.domain.RoomBookingRequest;
 import com.campus.event.domain.RoomBookingStatus;
 import com.campus.event.repository.EventRepository;
-import com.campus.event.repository.RoomBookingRequestRepository;
 import com.campus.event.repository.RoomRepository;
 import com.campus.event.service.RoomAvailabilityService;
+import com.campus.event.service.RoomBookingWriter;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -24,19 +24,19 @@ import java.util.Map;
 @PreAuthorize("hasRole('FACULTY')")
 public class FacultyRoomBookingController {
 
-    private final RoomBookingRequestRepository requestRepo;
     private final EventRepository eventRepo;
     private final RoomRepository roomRepo;
     private final RoomAvailabilityService availabilityService;
+    private final RoomBookingWriter bookingWriter;
 
-    public FacultyRoomBookingController(RoomBookingRequestRepository requestRepo,
-                                        EventRepository eventRepo,
+    public FacultyRoomBookingController(EventRepository eventRepo,
                                         RoomRepository roomRepo,
-                                        RoomAvailabilityService availabilityService) {
-        this.requestRepo = requestRepo;
+                                        RoomAvailabilityService availabilityService,
+                                        RoomBookingWriter bookingWriter) {
         this.eventRepo = eventRepo;
         this.roomRepo = roomRepo;
         this.availabilityService = availabilityService;
+        this.bookingWriter = bookingWriter;
     }
 
     public static class DirectBookBody {
@@ -110,7 +110,7 @@ public class FacultyRoomBookingController {
         req.setApprovedAt(LocalDateTime.now());
         req.setApprovedByUsername(principal.getUsername());
         req.setRequestedByUsername(principal.getUsername());
-        RoomBookingRequest saved = requestRepo.save(req);
+        RoomBookingRequest saved = bookingWriter.save(req);
         return ResponseEntity.ok(Map.of("id", saved.getId(), "status", saved.getStatus().name(), "allocatedRoom", room.getName()));
     }
 }
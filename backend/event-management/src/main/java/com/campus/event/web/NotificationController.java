@@ -5,13 +5,11 @@ import com.campus.event.domain.User;
 import com.campus.event.domain.Event;
 import com.campus.event.domain.NotificationThread;
 import com.campus.event.domain.NotificationDelivery;
-import com.campus.event.domain.NotificationMessage;
-import com.campus.event.domain.NotificationStatus;
 import com.campus.event.repository.NotificationRepository;
+import com.campus.event.service.BroadcastFanoutService;
 import com.campus.event.service.NotificationCenterService;
 import com.campus.event.repository.UserRepository;
 import com.campus.event.repository.EventRepository;
-import com.campus.event.repository.NotificationMessageRepository;
 import com.campus.event.repository.NotificationDeliveryRepository;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -32,21 +30,21 @@ public class NotificationController {
     private final NotificationCenterService centerService;
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
-    private final NotificationMessageRepository messageRepository;
     private final NotificationDeliveryRepository deliveryRepository;
+    private final BroadcastFanoutService broadcastFanoutService;
 
     public NotificationController(NotificationRepository notificationRepository,
                                   NotificationCenterService centerService,
                                   UserRepository userRepository,
                                   EventRepository eventRepository,
-                                  NotificationMessageRepository messageRepository,
-                                  NotificationDeliveryRepository deliveryRepository) {
+                                  NotificationDeliveryRepository deliveryRepository,
+                                  BroadcastFanoutService broadcastFanoutService) {
         this.notificationRepository = notificationRepository;
         this.centerService = centerService;
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
-        this.messageRepository = messageRepository;
         this.deliveryRepository = deliveryRepository;
+        this.broadcastFanoutService = broadcastFanoutService;
     }
 
     @GetMapping("/mine")
@@ -69,23 +67,8 @@ public class NotificationController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('GENERAL_USER','CLUB_ASSOCIATE','FACULTY','ADMIN','CENTRAL_ADMIN','BUILDING_ADMIN')")
-    public ResponseEntity<List<Map<String, Object>>> globalInbox(@AuthenticationPrincipal UserDetails principal) {
-        List<com.campus.event.domain.NotificationDelivery> deliveries = centerService.getDeliveriesForUser(principal.getUsername());
-        List<Map<String, Object>> body = deliveries.stream().map(d -> {
-            Map<String, Object> m = new HashMap<>();
-            m.put("deliveryId", d.getId());
-            m.put("id", d.getNotification().getId());
-            m.put("title", d.getNotification().getTitle());
-            m.put("message", d.getNotification().getMessage());
-            m.put("origin", d.getNotification().getOrigin().name());
-            m.put("urgency", d.getNotification().getUrgency().name());
-            m.put("threadEnabled", d.getNotification().isThreadEnabled());
-            m.put("read", d.getReadAt() != null);
-            m.put("muted", d.isMuted());
-            m.put("createdAt", d.getNotification().getCreatedAt());
-            return m;
-        }).collect(Collectors.toList());
-        return ResponseEntity.ok(body);
+    public ResponseEntity<List<NotificationDeliveryRepository.InboxRow>> globalInbox(@AuthenticationPrincipal UserDetails principal) {
+        return ResponseEntity.ok(deliveryRepository.findInboxRowsByUsername(principal.getUsername()));
     }
 
     @PostMapping("/broadcast")
@@ -97,8 +80,14 @@ public class NotificationController {
         boolean threadEnabled = Boolean.TRUE.equals(body.get("threadEnabled"));
         com.campus.event.domain.Urgency urgency = com.campus.event.domain.Urgency.valueOf(urg);
         User user = userRepository.findByUsername(principal.getUsername()).orElse(null);
-        centerService.createBroadcast(title, message, urgency, threadEnabled, user);
-        return ResponseEntity.ok(Map.of("status", "ok"));
+        com.campus.event.domain.NotificationMessage nm = centerService.createBroadcast(title, message, urgency, threadEnabled, user);
+        return ResponseEntity.accepted().body(Map.of("status", "ok", "notificationId", nm.getId()));
+    }
+
+    @GetMapping("/broadcast/{notificationId}/progress")
+    @PreAuthorize("hasRole('CENTRAL_ADMIN')")
+    public ResponseEntity<?> broadcastProgress(@PathVariable Long notificationId) {
+        return ResponseEntity.ok(broadcastFanoutService.getProgress(notificationId));
     }
 
     @PostMapping("/events/{eventId}")
@@ -116,73 +105,69 @@ public class NotificationController {
         boolean threadEnabled = Boolean.TRUE.equals(body.get("threadEnabled"));
         com.campus.event.domain.Urgency urgency = com.campus.event.domain.Urgency.valueOf(urg);
         User user = userRepository.findByUsername(principal.getUsername()).orElse(null);
-        centerService.createEventNotification(eventId, title, message, urgency, threadEnabled, user);
-        return ResponseEntity.ok(Map.of("status", "ok"));
+        NotificationCenterService.EventNotificationResult result =
+                centerService.createEventNotification(eventId, title, message, urgency, threadEnabled, user);
+        // "deliveries" kept for existing clients; it is the number of registrants reached
+        return ResponseEntity.ok(Map.of("status", "ok",
+                "notificationId", result.notification().getId(),
+                "deliveries", result.recipients()));
     }
 
     @GetMapping("/events/{eventId}")
     @PreAuthorize("hasAnyRole('GENERAL_USER','CLUB_ASSOCIATE','FACULTY','ADMIN','CENTRAL_ADMIN','BUILDING_ADMIN')")
     public ResponseEntity<List<Map<String, Object>>> eventInbox(@PathVariable Long eventId, @AuthenticationPrincipal UserDetails principal) {
-        // only registered users (or admins) can view event-tailored messages
-        boolean isOwner = false;
-        try {
-            isOwner = eventRepository.findById(eventId).map(e -> e.getCreatedBy() != null && e.getCreatedBy().getUsername().equals(principal.getUsername())).orElse(false);
-        } catch (Exception ignored) { }
-        // if not owner, check registration
+        // only the creator, registered users or admins can view event-tailored messages
         boolean isAdmin = principal.getAuthorities().stream().anyMatch(a -> a.getAuthority().contains("ADMIN"));
-
-        // Backfill deliveries for owner/admin so they can see and discuss older event notifications.
-        if (isOwner || isAdmin) {
-            try {
-                User u = userRepository.findByUsername(principal.getUsername()).orElse(null);
-                if (u != null && u.getId() != null) {
-                    List<NotificationMessage> msgs = messageRepository.findByEvent_IdOrderByCreatedAtDesc(eventId);
-                    List<Long> delivered = deliveryRepository.findDeliveredNotificationIdsForUserEvent(u.getId(), eventId);
-                    java.util.HashSet<Long> deliveredSet = new java.util.HashSet<>(delivered);
-                    java.util.ArrayList<NotificationDelivery> toCreate = new java.util.ArrayList<>();
-                    for (NotificationMessage nm : msgs) {
-                        if (nm == null || nm.getId() == null) continue;
-                        if (deliveredSet.contains(nm.getId())) continue;
-                        NotificationDelivery d = new NotificationDelivery();
-                        d.setNotification(nm);
-                        d.setUser(u);
-                        d.setDeliveryStatus(NotificationStatus.PENDING);
-                        toCreate.add(d);
-                    }
-                    if (!toCreate.isEmpty()) {
-                        deliveryRepository.saveAll(toCreate);
-                    }
-                }
-            } catch (Exception ignored) {
-                // best-effort backfill
-            }
-        }
-
-        if (!isAdmin) {
-            // check event registration repository through service deliveries
-            List<com.campus.event.domain.NotificationDelivery> deliveries = centerService.getDeliveriesForUser(principal.getUsername());
-            boolean hasForEvent = deliveries.stream().anyMatch(d -> d.getNotification().getEvent() != null && d.getNotification().getEvent().getId().equals(eventId));
-            if (!hasForEvent && !isOwner) {
-                return ResponseEntity.status(403).body(null);
-            }
+        if (!isAdmin && !eventRepository.isCreatorOrRegistrant(eventId, principal.getUsername())) {
+            return ResponseEntity.status(403).body(null);
         }
-        List<com.campus.event.domain.NotificationDelivery> deliveries = centerService.getDeliveriesForUser(principal.getUsername());
-        List<Map<String, Object>> body = deliveries.stream()
-                .filter(d -> d.getNotification().getEvent() != null && d.getNotification().getEvent().getId().equals(eventId))
-                .map(d -> {
+        // Messages merged with this user's read state at query time; nothing is backfilled
+        List<NotificationDeliveryRepository.InboxRow> rows = deliveryRepository.findEventInboxRows(eventId, principal.getUsername());
+        List<Map<String, Object>> body = rows.stream()
+                .map(r -> {
                     Map<String, Object> m = new HashMap<>();
-                    m.put("deliveryId", d.getId());
-                    m.put("id", d.getNotification().getId());
-                    m.put("title", d.getNotification().getTitle());
-                    m.put("message", d.getNotification().getMessage());
-                    m.put("read", d.getReadAt() != null);
-                    m.put("createdAt", d.getNotification().getCreatedAt());
-                    m.put("threadEnabled", d.getNotification().isThreadEnabled());
+                    m.put("deliveryId", r.getDeliveryId());
+                    m.put("id", r.getId());
+                    m.put("title", r.getTitle());
+                    m.put("message", r.getMessage());
+                    m.put("read", Boolean.TRUE.equals(r.getRead()));
+                    m.put("muted", Boolean.TRUE.equals(r.getMuted()));
+                    m.put("createdAt", r.getCreatedAt());
+                    m.put("threadEnabled", Boolean.TRUE.equals(r.getThreadEnabled()));
                     return m;
                 }).collect(Collectors.toList());
         return ResponseEntity.ok(body);
     }
 
+    @PostMapping("/messages/{notificationId}/mark-read")
+    @PreAuthorize("hasAnyRole('GENERAL_USER','CLUB_ASSOCIATE','FACULTY','ADMIN','CENTRAL_ADMIN','BUILDING_ADMIN')")
+    public ResponseEntity<?> markMessageRead(@PathVariable Long notificationId, @AuthenticationPrincipal UserDetails principal) {
+        boolean isAdmin = principal.getAuthorities().stream().anyMatch(a -> a.getAuthority().contains("ADMIN"));
+        try {
+            NotificationDelivery d = centerService.markNotificationRead(notificationId, principal.getUsername(), isAdmin);
+            return ResponseEntity.ok(Map.of("status", "ok", "deliveryId", d.getId()));
+        } catch (SecurityException se) {
+            return ResponseEntity.status(403).body(Map.of("error", se.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/messages/{notificationId}/mute")
+    @PreAuthorize("hasAnyRole('GENERAL_USER','CLUB_ASSOCIATE','FACULTY','ADMIN','CENTRAL_ADMIN','BUILDING_ADMIN')")
+    public ResponseEntity<?> muteMessage(@PathVariable Long notificationId, @AuthenticationPrincipal UserDetails principal, @RequestBody Map<String, Object> body) {
+        boolean mute = Boolean.TRUE.equals(body.get("mute"));
+        boolean isAdmin = principal.getAuthorities().stream().anyMatch(a -> a.getAuthority().contains("ADMIN"));
+        try {
+            NotificationDelivery d = centerService.muteNotification(notificationId, principal.getUsername(), isAdmin, mute);
+            return ResponseEntity.ok(Map.of("status", "ok", "deliveryId", d.getId()));
+        } catch (SecurityException se) {
+            return ResponseEntity.status(403).body(Map.of("error", se.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PostMapping("/deliveries/{deliveryId}/mark-read")
     @PreAuthorize("hasAnyRole('GENERAL_USER','CLUB_ASSOCIATE','FACULTY','ADMIN','CENTRAL_ADMIN','BUILDING_ADMIN')")
     public ResponseEntity<?> markRead(@PathVariable Long deliveryId, @AuthenticationPrincipal UserDetails principal) {
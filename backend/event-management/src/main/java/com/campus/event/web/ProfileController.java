@@ -2,6 +2,7 @@ package com.campus.event.web;
 
 import com.campus.event.domain.User;
 import com.campus.event.repository.UserRepository;
+import com.campus.event.security.PrincipalCache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -16,10 +17,12 @@ public class ProfileController {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
 
-    public ProfileController(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public ProfileController(UserRepository userRepository, PasswordEncoder passwordEncoder, PrincipalCache principalCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.principalCache = principalCache;
     }
 
     @GetMapping
@@ -94,6 +97,7 @@ public class ProfileController {
 
         user.setPasswordHash(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        principalCache.invalidateUser(user.getUsername());
 
         return ResponseEntity.ok("Password updated successfully");
     }
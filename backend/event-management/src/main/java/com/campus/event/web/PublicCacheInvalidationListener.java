@@ -0,0 +1,61 @@
+package com.campus.event.web;
+
+import com.campus.event.domain.Building;
+import com.campus.event.domain.Event;
+import com.campus.event.domain.EventRegistration;
+import com.campus.event.domain.Floor;
+import com.campus.event.domain.Room;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that drops {@link PublicResponseCache} entries whose data changed. Hooking
+ * the entities rather than the services also covers controllers that write through repositories.
+ * Entries are dropped after commit so a concurrent reader cannot re-cache the old state.
+ */
+@Component
+public class PublicCacheInvalidationListener {
+
+    private final PublicResponseCache cache;
+
+    public PublicCacheInvalidationListener(PublicResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void afterChange(Object entity) {
+        if (entity instanceof Event e) {
+            String key = PublicResponseCache.eventKey(e.getId());
+            afterCommit(() -> cache.invalidate(key));
+        } else if (entity instanceof EventRegistration r) {
+            // Event detail carries the registration count
+            if (r.getEvent() == null) return;
+            String key = PublicResponseCache.eventKey(r.getEvent().getId());
+            afterCommit(() -> cache.invalidate(key));
+        } else if (entity instanceof Room) {
+            afterCommit(() -> cache.invalidate(PublicResponseCache.ROOMS));
+        } else if (entity instanceof Building || entity instanceof Floor) {
+            // Building names appear in rooms and event detail as well
+            afterCommit(cache::invalidateAll);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -2,15 +2,18 @@ package com.campus.event.web;
 
 import com.campus.event.domain.Event;
 import com.campus.event.domain.Room;
-import com.campus.event.domain.RoomBookingRequest;
-import com.campus.event.domain.RoomBookingStatus;
 import com.campus.event.repository.BuildingRepository;
 import com.campus.event.repository.EventRepository;
-import com.campus.event.repository.EventRegistrationRepository;
 import com.campus.event.repository.RoomBookingRequestRepository;
 import com.campus.event.repository.RoomRepository;
+import com.campus.event.service.EventService;
+import com.campus.event.service.RoomAvailabilityService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -18,7 +21,6 @@ import org.springframework.web.bind.annotation.RestController;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -26,88 +28,74 @@ import java.util.stream.Collectors;
 public class PublicController {
 
     private final EventRepository eventRepository;
-    private final EventRegistrationRepository eventRegistrationRepository;
     private final RoomRepository roomRepository;
     private final RoomBookingRequestRepository bookingRepository;
     private final BuildingRepository buildingRepository;
+    private final RoomAvailabilityService availabilityService;
+    private final EventService eventService;
+    private final PublicResponseCache responseCache;
 
     public PublicController(EventRepository eventRepository,
-                            EventRegistrationRepository eventRegistrationRepository,
                             RoomRepository roomRepository,
                             RoomBookingRequestRepository bookingRepository,
-                            BuildingRepository buildingRepository) {
+                            BuildingRepository buildingRepository,
+                            RoomAvailabilityService availabilityService,
+                            EventService eventService,
+                            PublicResponseCache responseCache) {
         this.eventRepository = eventRepository;
-        this.eventRegistrationRepository = eventRegistrationRepository;
         this.roomRepository = roomRepository;
         this.bookingRepository = bookingRepository;
         this.buildingRepository = buildingRepository;
+        this.availabilityService = availabilityService;
+        this.eventService = eventService;
+        this.responseCache = responseCache;
     }
 
     @GetMapping("/buildings")
-    public ResponseEntity<?> listActiveBuildings() {
-        var buildings = buildingRepository.findByIsActiveTrue().stream()
-                .map(b -> {
-                    java.util.HashMap<String, Object> m = new java.util.HashMap<>();
-                    m.put("id", b.getId());
-                    m.put("name", b.getName());
-                    m.put("code", b.getCode());
-                    m.put("description", b.getDescription());
-                    return m;
-                })
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(buildings);
+    public ResponseEntity<byte[]> listActiveBuildings(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.respond(PublicResponseCache.BUILDINGS, ifNoneMatch, buildingRepository::findSummariesByIsActiveTrue);
     }
 
     @GetMapping("/events")
     public ResponseEntity<?> listPublicEvents() {
         try {
-            List<Map<String, Object>> out = eventRepository.findByIsPublicTrue().stream()
-                    .map(e -> {
-                        java.util.HashMap<String, Object> m = new java.util.HashMap<>();
-                        m.put("id", e.getId());
-                        m.put("title", e.getTitle());
-                        m.put("description", e.getDescription());
-                        m.put("startTime", e.getStartTime());
-                        m.put("endTime", e.getEndTime());
-                        m.put("location", e.getLocation());
-                        m.put("clubId", e.getClubId());
-                        m.put("registrationSchema", e.getRegistrationSchema());
-                        m.put("isPublic", e.isPublic());
-                        m.put("createdBy", e.getCreatedBy() != null ? e.getCreatedBy().getUsername() : null);
-                        m.put("maxAttendees", e.getMaxAttendees());
-                        m.put("currentRegistrations", eventRegistrationRepository.findByEvent_Id(e.getId()).size());
-                        m.put("buildingId", e.getBuilding() != null ? e.getBuilding().getId() : null);
-                        m.put("buildingName", e.getBuilding() != null ? e.getBuilding().getName() : null);
-                        return m;
-                    })
-                    .collect(Collectors.toList());
-            return ResponseEntity.ok(out);
+            return ResponseEntity.ok(eventRepository.findPublicEventRows());
         } catch (Exception ex) {
             return ResponseEntity.status(500).body(Map.of("error", "Failed to load events"));
         }
     }
 
+    /**
+     * Paged public events. {@code when=upcoming} (default) or {@code when=past}; pass the returned
+     * {@code nextCursor} back as {@code cursor} to get the following page.
+     */
+    @GetMapping("/events/feed")
+    public ResponseEntity<?> publicEventFeed(@RequestParam(value = "when", defaultValue = "upcoming") String when,
+                                             @RequestParam(value = "from", required = false)
+                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                             @RequestParam(value = "to", required = false)
+                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                             @RequestParam(value = "buildingId", required = false) Long buildingId,
+                                             @RequestParam(value = "clubId", required = false) String clubId,
+                                             @RequestParam(value = "cursor", required = false) String cursor,
+                                             @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        boolean past;
+        if ("past".equalsIgnoreCase(when)) {
+            past = true;
+        } else if ("upcoming".equalsIgnoreCase(when)) {
+            past = false;
+        } else {
+            return ResponseEntity.badRequest().body(Map.of("error", "when must be 'upcoming' or 'past'"));
+        }
+        return ResponseEntity.ok(eventService.getPublicEventFeed(past, from, to, buildingId, clubId, cursor, limit));
+    }
+
     @GetMapping("/events/{id}")
-    public ResponseEntity<?> getEvent(@org.springframework.web.bind.annotation.PathVariable Long id) {
+    public ResponseEntity<?> getEvent(@org.springframework.web.bind.annotation.PathVariable Long id,
+                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            Event e = eventRepository.findById(id).orElse(null);
-            if (e == null) return ResponseEntity.notFound().build();
-            java.util.HashMap<String, Object> m = new java.util.HashMap<>();
-            m.put("id", e.getId());
-            m.put("title", e.getTitle());
-            m.put("description", e.getDescription());
-            m.put("startTime", e.getStartTime());
-            m.put("endTime", e.getEndTime());
-            m.put("location", e.getLocation());
-            m.put("clubId", e.getClubId());
-            m.put("registrationSchema", e.getRegistrationSchema());
-            m.put("isPublic", e.isPublic());
-            m.put("createdBy", e.getCreatedBy() != null ? e.getCreatedBy().getUsername() : null);
-            m.put("maxAttendees", e.getMaxAttendees());
-            m.put("currentRegistrations", eventRegistrationRepository.findByEvent_Id(e.getId()).size());
-            m.put("buildingId", e.getBuilding() != null ? e.getBuilding().getId() : null);
-            m.put("buildingName", e.getBuilding() != null ? e.getBuilding().getName() : null);
-            return ResponseEntity.ok(m);
+            return responseCache.respond(PublicResponseCache.eventKey(id), ifNoneMatch,
+                    () -> eventRepository.findEventRowById(id).orElse(null));
         } catch (Exception ex) {
             return ResponseEntity.status(500).body(Map.of("error", "Failed to load event"));
         }
@@ -124,8 +112,8 @@ public class PublicController {
     }
 
     @GetMapping("/rooms")
-    public List<Room> listRooms() {
-        return roomRepository.findAll();
+    public ResponseEntity<byte[]> listRooms(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.respond(PublicResponseCache.ROOMS, ifNoneMatch, roomRepository::findAll);
     }
 
     @GetMapping("/events/debug/list")
@@ -157,33 +145,17 @@ public class PublicController {
         }
 
         List<Room> allRooms = roomRepository.findAll();
-        List<RoomBookingRequest> bookings = bookingRepository.findByStatusIn(Set.of(RoomBookingStatus.APPROVED, RoomBookingStatus.CONFIRMED));
-
-        Set<Long> occupiedRoomIds = bookings.stream()
-                .filter(b -> b.getAllocatedRoom() != null)
-                .filter(b -> {
-                    LocalDateTime bStart;
-                    LocalDateTime bEnd;
-                    if (b.getEvent() != null && b.getEvent().getStartTime() != null && b.getEvent().getEndTime() != null) {
-                        bStart = b.getEvent().getStartTime();
-                        bEnd = b.getEvent().getEndTime();
-                    } else if (b.getMeetingStart() != null && b.getMeetingEnd() != null) {
-                        bStart = b.getMeetingStart();
-                        bEnd = b.getMeetingEnd();
-                    } else {
-                        return false;
-                    }
-                    return start.isBefore(bEnd) && end.isAfter(bStart);
-                })
-                .map(b -> b.getAllocatedRoom().getId())
-                .collect(Collectors.toSet());
+        List<RoomAvailabilityService.TimeWindow> window = List.of(new RoomAvailabilityService.TimeWindow(start, end));
+        Map<Long, List<Boolean>> matrix = availabilityService.availabilityMatrix(
+                allRooms.stream().map(Room::getId).filter(java.util.Objects::nonNull).collect(Collectors.toList()), window);
 
         return allRooms.stream()
-                .filter(r -> r.getId() != null && !occupiedRoomIds.contains(r.getId()))
+                .filter(r -> r.getId() != null && matrix.getOrDefault(r.getId(), List.of(false)).get(0))
                 .collect(Collectors.toList());
     }
 
     @GetMapping("/rooms/{roomId}/bookings")
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> roomBookings(@org.springframework.web.bind.annotation.PathVariable Long roomId,
                                                   @RequestParam("start") String startIso,
                                                   @RequestParam("end") String endIso) {
@@ -193,23 +165,7 @@ public class PublicController {
             return List.of();
         }
 
-        List<RoomBookingRequest> bookings = bookingRepository.findByStatusIn(Set.of(RoomBookingStatus.APPROVED, RoomBookingStatus.CONFIRMED));
-        return bookings.stream()
-                .filter(b -> b.getAllocatedRoom() != null && roomId.equals(b.getAllocatedRoom().getId()))
-                .filter(b -> {
-                    LocalDateTime bStart;
-                    LocalDateTime bEnd;
-                    if (b.getEvent() != null && b.getEvent().getStartTime() != null && b.getEvent().getEndTime() != null) {
-                        bStart = b.getEvent().getStartTime();
-                        bEnd = b.getEvent().getEndTime();
-                    } else if (b.getMeetingStart() != null && b.getMeetingEnd() != null) {
-                        bStart = b.getMeetingStart();
-                        bEnd = b.getMeetingEnd();
-                    } else {
-                        return false;
-                    }
-                    return start.isBefore(bEnd) && end.isAfter(bStart);
-                })
+        return bookingRepository.findConflictingBookings(roomId, start, end).stream()
                 .map(b -> {
                     java.util.HashMap<String, Object> m = new java.util.HashMap<>();
                     m.put("id", b.getId());
@@ -0,0 +1,125 @@
+package com.campus.event.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Serialized JSON of anonymous public endpoints, keyed by endpoint and parameters, with a strong
+ * ETag computed from the bytes. Clients revalidate with {@code If-None-Match} and get a 304 while
+ * the data is unchanged. Entries are dropped by {@link PublicCacheInvalidationListener} once a
+ * change to the underlying entities commits.
+ */
+@Component
+public class PublicResponseCache {
+    static final int MAX_ENTRIES = 1000;
+
+    public static final String BUILDINGS = "buildings";
+    public static final String ROOMS = "rooms";
+    private static final String EVENT_PREFIX = "event:";
+
+    record Entry(byte[] body, String etag) {
+    }
+
+    private final ObjectMapper objectMapper;
+    // Guarded by "this"; least recently used entries are evicted past MAX_ENTRIES
+    private final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    // Guarded by "this"; bumped on every invalidation so a load that raced one is not stored
+    private long generation;
+
+    public PublicResponseCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public static String eventKey(Long eventId) {
+        return EVENT_PREFIX + eventId;
+    }
+
+    /**
+     * Serves {@code key} from the cache, loading it with {@code loader} on a miss. A null body from
+     * the loader means 404 and is not cached.
+     */
+    public ResponseEntity<byte[]> respond(String key, String ifNoneMatch, Supplier<Object> loader) {
+        Entry entry;
+        long observed;
+        synchronized (this) {
+            entry = entries.get(key);
+            observed = generation;
+        }
+        if (entry == null) {
+            Object body = loader.get();
+            if (body == null) return ResponseEntity.notFound().build();
+            entry = toEntry(body);
+            synchronized (this) {
+                if (generation == observed) {
+                    entries.put(key, entry);
+                }
+            }
+        }
+        if (matches(ifNoneMatch, entry.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(entry.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(entry.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(entry.body());
+    }
+
+    public synchronized void invalidate(String key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateEvents() {
+        generation++;
+        entries.keySet().removeIf(k -> k.startsWith(EVENT_PREFIX));
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    private Entry toEntry(Object body) {
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(body);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return new Entry(bytes, "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize public response", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String c = candidate.trim();
+            if (c.equals("*")) return true;
+            if (c.startsWith("W/")) c = c.substring(2);
+            if (c.equals(etag)) return true;
+        }
+        return false;
+    }
+}
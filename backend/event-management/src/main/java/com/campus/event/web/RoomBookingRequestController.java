@@ -39,13 +39,15 @@ public class RoomBookingRequestController {
     private final EventRoomBookingSplitService eventRoomBookingSplitService;
     private final EventTimeSlotRepository eventTimeSlotRepository;
     private final com.campus.event.service.RoomAvailabilityService availabilityService;
+    private final com.campus.event.service.RoomBookingWriter bookingWriter;
 
     public RoomBookingRequestController(RoomBookingRequestRepository requestRepo, EventRepository eventRepo, RoomRepository roomRepo,
                                         com.campus.event.service.ScheduleService scheduleService,
                                         BuildingTimetableService buildingTimetableService,
                                         EventRoomBookingSplitService eventRoomBookingSplitService,
                                         EventTimeSlotRepository eventTimeSlotRepository,
-                                        com.campus.event.service.RoomAvailabilityService availabilityService) {
+                                        com.campus.event.service.RoomAvailabilityService availabilityService,
+                                        com.campus.event.service.RoomBookingWriter bookingWriter) {
         this.requestRepo = requestRepo;
         this.eventRepo = eventRepo;
         this.roomRepo = roomRepo;
@@ -54,6 +56,7 @@ public class RoomBookingRequestController {
         this.eventRoomBookingSplitService = eventRoomBookingSplitService;
         this.eventTimeSlotRepository = eventTimeSlotRepository;
         this.availabilityService = availabilityService;
+        this.bookingWriter = bookingWriter;
     }
 
     public static class CreateRequest {
@@ -233,8 +236,8 @@ public class RoomBookingRequestController {
             return ResponseEntity.badRequest().body("meetingStart must be in the future");
         }
 
-        // Secure race conditions via pessimistic row-locking on the Room
-        Room room = roomRepo.findByIdWithPessimisticLock(req.roomId).orElse(null);
+        // Races with concurrent bookings are settled by the room_booking_no_overlap constraint on save
+        Room room = roomRepo.findById(req.roomId).orElse(null);
         if (room == null) {
             return ResponseEntity.badRequest().body("Room not found");
         }
@@ -260,7 +263,7 @@ public class RoomBookingRequestController {
         bookingRequest.setApprovedByUsername(principal.getUsername());
         bookingRequest.setRequestedByUsername(principal.getUsername());
         
-        RoomBookingRequest saved = requestRepo.save(bookingRequest);
+        RoomBookingRequest saved = bookingWriter.save(bookingRequest);
         return ResponseEntity.ok(Map.of("id", saved.getId(), "status", saved.getStatus().name(), "allocatedRoom", room.getName()));
     }
 
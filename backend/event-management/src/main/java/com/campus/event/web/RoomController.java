@@ -18,6 +18,8 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/rooms")
 public class RoomController {
 
+    private static final int MAX_MATRIX_WINDOWS = 200;
+
     private final RoomRepository roomRepository;
     private final RoomAvailabilityService availabilityService;
 
@@ -52,8 +54,10 @@ public class RoomController {
     public ResponseEntity<List<Map<String, Object>>> availability(@RequestParam LocalDateTime start,
                                                                   @RequestParam LocalDateTime end) {
         List<Room> rooms = roomRepository.findAll();
+        Map<Long, Boolean> availability = availabilityService.availabilityForRooms(
+                rooms.stream().map(Room::getId).collect(Collectors.toList()), start, end);
         List<Map<String, Object>> body = rooms.stream().map(r -> {
-            boolean available = availabilityService.isRoomAvailable(r.getId(), start, end);
+            boolean available = availability.getOrDefault(r.getId(), false);
             Map<String, Object> m = new HashMap<>();
             m.put("roomId", r.getId());
             m.put("name", r.getName());
@@ -63,6 +67,51 @@ public class RoomController {
         return ResponseEntity.ok(body);
     }
 
+    public static class AvailabilityMatrixBody {
+        /** Either {@code buildingId} (all active rooms of the building) or explicit {@code roomIds}. */
+        public Long buildingId;
+        public List<Long> roomIds;
+        public List<RoomAvailabilityService.TimeWindow> windows;
+    }
+
+    /**
+     * Rooms × windows availability in one round trip. Each room row carries one boolean per
+     * requested window, in request order.
+     */
+    @PostMapping("/availability/matrix")
+    @PreAuthorize("hasAnyRole('CLUB_ASSOCIATE','FACULTY','ADMIN','CENTRAL_ADMIN','BUILDING_ADMIN')")
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> availabilityMatrix(@RequestBody AvailabilityMatrixBody body) {
+        if (body == null || body.windows == null || body.windows.isEmpty()) {
+            return ResponseEntity.badRequest().body("windows are required");
+        }
+        if (body.windows.size() > MAX_MATRIX_WINDOWS) {
+            return ResponseEntity.badRequest().body("At most " + MAX_MATRIX_WINDOWS + " windows are allowed");
+        }
+        List<Room> rooms;
+        if (body.buildingId != null) {
+            rooms = roomRepository.findByBuildingIdAndIsActiveTrue(body.buildingId);
+        } else if (body.roomIds != null && !body.roomIds.isEmpty()) {
+            rooms = roomRepository.findAllById(body.roomIds);
+        } else {
+            return ResponseEntity.badRequest().body("buildingId or roomIds is required");
+        }
+
+        Map<Long, List<Boolean>> matrix = availabilityService.availabilityMatrix(
+                rooms.stream().map(Room::getId).collect(Collectors.toList()), body.windows);
+        List<Map<String, Object>> rows = rooms.stream().map(r -> {
+            Map<String, Object> m = new HashMap<>();
+            m.put("roomId", r.getId());
+            m.put("name", r.getName());
+            m.put("available", matrix.getOrDefault(r.getId(), List.of()));
+            return m;
+        }).collect(Collectors.toList());
+        Map<String, Object> out = new HashMap<>();
+        out.put("windows", body.windows);
+        out.put("rooms", rows);
+        return ResponseEntity.ok(out);
+    }
+
     @GetMapping("/{roomId}/availability")
     @PreAuthorize("hasAnyRole('CLUB_ASSOCIATE','FACULTY','ADMIN','CENTRAL_ADMIN','BUILDING_ADMIN')")
     public ResponseEntity<Map<String, Object>> roomAvailability(@PathVariable Long roomId,
@@ -78,8 +127,10 @@ public class RoomController {
     public ResponseEntity<List<Map<String, Object>>> statusNow() {
         LocalDateTime now = LocalDateTime.now();
         List<Room> rooms = roomRepository.findAll();
+        Map<Long, Boolean> availability = availabilityService.availabilityForRooms(
+                rooms.stream().map(Room::getId).collect(Collectors.toList()), now.minusMinutes(1), now.plusMinutes(1));
         List<Map<String, Object>> body = rooms.stream().map(r -> {
-            boolean available = availabilityService.isRoomAvailable(r.getId(), now.minusMinutes(1), now.plusMinutes(1));
+            boolean available = availability.getOrDefault(r.getId(), false);
             Map<String, Object> m = new HashMap<>();
             m.put("roomId", r.getId());
             m.put("name", r.getName());
@@ -0,0 +1,26 @@
+package com.campus.event.web.dto;
+
+import com.campus.event.repository.EventRepository;
+
+import java.time.LocalDateTime;
+
+/** An event on its organizer's dashboard, with whether a room is already secured for it. */
+public record OrganizerEventResponse(Long id,
+                                     String title,
+                                     String description,
+                                     LocalDateTime startTime,
+                                     LocalDateTime endTime,
+                                     String location,
+                                     String clubId,
+                                     String registrationSchema,
+                                     Integer maxAttendees,
+                                     Long buildingId,
+                                     String buildingName,
+                                     boolean hasApprovedBooking) {
+
+    public static OrganizerEventResponse of(EventRepository.OrganizerEventRow e, boolean hasApprovedBooking) {
+        return new OrganizerEventResponse(e.getId(), e.getTitle(), e.getDescription(), e.getStartTime(), e.getEndTime(),
+                e.getLocation(), e.getClubId(), e.getRegistrationSchema(), e.getMaxAttendees(),
+                e.getBuildingId(), e.getBuildingName(), hasApprovedBooking);
+    }
+}
@@ -0,0 +1,40 @@
+package com.campus.event.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A room booking request as listed for approvers. Fields marked {@code NON_NULL} are only present
+ * when they apply (event-only data, multi-slot schedules, split requests).
+ */
+public record RoomRequestResponse(Long id,
+                                  Long eventId,
+                                  String eventTitle,
+                                  LocalDateTime start,
+                                  LocalDateTime end,
+                                  @JsonInclude(JsonInclude.Include.NON_NULL) Long registrationCount,
+                                  @JsonInclude(JsonInclude.Include.NON_NULL) String timingModel,
+                                  @JsonInclude(JsonInclude.Include.NON_NULL) Integer slotCount,
+                                  @JsonInclude(JsonInclude.Include.NON_NULL) List<Slot> slots,
+                                  @JsonInclude(JsonInclude.Include.NON_NULL) Long buildingId,
+                                  @JsonInclude(JsonInclude.Include.NON_NULL) String buildingName,
+                                  String status,
+                                  String pref1,
+                                  String pref2,
+                                  String pref3,
+                                  Long pref1Id,
+                                  Long pref2Id,
+                                  Long pref3Id,
+                                  String pref1RoomType,
+                                  String approvalScope,
+                                  String allocatedRoom,
+                                  String requestedBy,
+                                  @JsonInclude(JsonInclude.Include.NON_NULL) String splitGroupId,
+                                  boolean splitPart) {
+
+    /** One day of a multi-day event; {@code day} is 1-based. */
+    public record Slot(Integer day, LocalDateTime slotStart, LocalDateTime slotEnd) {
+    }
+}
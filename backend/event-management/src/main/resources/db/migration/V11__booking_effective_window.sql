@@ -0,0 +1,30 @@
+-- V11: Materialized booking window on room_booking_requests
+-- The occupied window is the event time for event bookings and the meeting time otherwise.
+-- Storing it on the row lets overlap checks be answered by an index instead of a join in Java.
+
+ALTER TABLE public.room_booking_requests ADD COLUMN IF NOT EXISTS effective_start timestamp(6) without time zone;
+ALTER TABLE public.room_booking_requests ADD COLUMN IF NOT EXISTS effective_end timestamp(6) without time zone;
+
+UPDATE public.room_booking_requests r
+SET effective_start = COALESCE(e.start_time, r.meeting_start),
+    effective_end = COALESCE(e.end_time, r.meeting_end)
+FROM public.events e
+WHERE r.event_id = e.id;
+
+UPDATE public.room_booking_requests
+SET effective_start = meeting_start,
+    effective_end = meeting_end
+WHERE event_id IS NULL;
+
+-- Range-overlap lookups per room (also the basis for an exclusion constraint)
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+CREATE INDEX IF NOT EXISTS idx_room_booking_window_gist
+    ON public.room_booking_requests USING gist (allocated_room_id, tsrange(effective_start, effective_end, '[)'))
+    WHERE status IN ('APPROVED', 'CONFIRMED')
+      AND effective_start IS NOT NULL AND effective_end IS NOT NULL AND effective_start < effective_end;
+
+-- Portable overlap predicate used by JPQL (room = ? AND effective_start < ? AND effective_end > ?)
+CREATE INDEX IF NOT EXISTS idx_room_booking_window
+    ON public.room_booking_requests (allocated_room_id, effective_start, effective_end)
+    WHERE status IN ('APPROVED', 'CONFIRMED');
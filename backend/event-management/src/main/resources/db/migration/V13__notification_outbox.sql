@@ -0,0 +1,8 @@
+-- Email / SMS notifications are sent by a background worker; rows in notifications are its outbox
+ALTER TABLE public.notifications ADD COLUMN IF NOT EXISTS attempts integer NOT NULL DEFAULT 0;
+ALTER TABLE public.notifications ADD COLUMN IF NOT EXISTS next_attempt_at timestamp(6) without time zone;
+ALTER TABLE public.notifications ADD COLUMN IF NOT EXISTS last_error character varying(500);
+
+CREATE INDEX IF NOT EXISTS idx_notifications_outbox
+    ON public.notifications (next_attempt_at, id)
+    WHERE type IN ('EMAIL', 'SMS') AND status IN ('PENDING', 'SENDING');
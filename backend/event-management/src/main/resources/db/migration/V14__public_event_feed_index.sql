@@ -0,0 +1,4 @@
+-- Keyset pagination of the public event feed walks (start_time, id) in either direction
+CREATE INDEX IF NOT EXISTS idx_events_public_start_id
+    ON public.events (start_time, id)
+    WHERE is_public;
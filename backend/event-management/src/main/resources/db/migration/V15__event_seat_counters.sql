@@ -0,0 +1,12 @@
+-- One counter row per event; registrations take a seat with a conditional UPDATE so they cannot oversell
+CREATE TABLE IF NOT EXISTS public.event_seat_counters (
+    event_id bigint PRIMARY KEY REFERENCES public.events (id) ON DELETE CASCADE,
+    taken integer NOT NULL DEFAULT 0
+);
+
+INSERT INTO public.event_seat_counters (event_id, taken)
+SELECT e.id, COUNT(r.id)
+FROM public.events e
+LEFT JOIN public.event_registrations r ON r.event_id = e.id
+GROUP BY e.id
+ON CONFLICT (event_id) DO NOTHING;
@@ -0,0 +1,11 @@
+-- High-demand events take registrations through an admission queue and keep a waitlist
+ALTER TABLE public.events ADD COLUMN IF NOT EXISTS flash_sale boolean NOT NULL DEFAULT false;
+
+CREATE TABLE IF NOT EXISTS public.event_waitlist (
+    id BIGSERIAL PRIMARY KEY,
+    event_id bigint NOT NULL REFERENCES public.events (id) ON DELETE CASCADE,
+    user_id bigint NOT NULL REFERENCES public.users (id) ON DELETE CASCADE,
+    full_name character varying(255),
+    created_at timestamp(6) without time zone,
+    CONSTRAINT uk_event_waitlist_event_user UNIQUE (event_id, user_id)
+);
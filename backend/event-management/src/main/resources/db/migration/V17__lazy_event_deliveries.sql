@@ -0,0 +1,14 @@
+-- Event messages are no longer copied to every registrant; inboxes read them per event at query time
+CREATE INDEX IF NOT EXISTS idx_notification_messages_event_created
+    ON public.notification_messages (event_id, created_at)
+    WHERE event_id IS NOT NULL;
+
+-- Untouched copies of event messages held by registrants are shown by the read model anyway
+DELETE FROM public.notification_deliveries d
+USING public.notification_messages m, public.event_registrations r
+WHERE d.notification_id = m.id
+  AND m.event_id IS NOT NULL
+  AND r.event_id = m.event_id
+  AND r.user_id = d.user_id
+  AND d.read_at IS NULL
+  AND d.muted = false;
@@ -0,0 +1,30 @@
+-- A user has at most one delivery per message; inbox reads join a user's deliveries by message
+-- through the same (user_id, notification_id) index.
+
+-- Step 1: Fold duplicate deliveries into the oldest one, keeping any read / mute state
+UPDATE public.notification_deliveries k
+SET read_at = g.read_at,
+    muted = g.muted
+FROM (
+    SELECT min(id) AS keep_id, max(read_at) AS read_at, bool_or(muted) AS muted
+    FROM public.notification_deliveries
+    WHERE notification_id IS NOT NULL AND user_id IS NOT NULL
+    GROUP BY notification_id, user_id
+    HAVING count(*) > 1
+) g
+WHERE k.id = g.keep_id;
+
+DELETE FROM public.notification_deliveries d
+USING public.notification_deliveries k
+WHERE d.notification_id = k.notification_id
+  AND d.user_id = k.user_id
+  AND d.id > k.id;
+
+-- Step 2: Enforce it, so concurrent first reads / mutes cannot insert a second row
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_notification_deliveries_user_notification') THEN
+        ALTER TABLE public.notification_deliveries
+            ADD CONSTRAINT uk_notification_deliveries_user_notification UNIQUE (user_id, notification_id);
+    END IF;
+END $$;
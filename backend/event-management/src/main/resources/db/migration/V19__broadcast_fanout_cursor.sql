@@ -0,0 +1,18 @@
+-- Fan-out progress of a broadcast: the highest user id it is delivered to (fixed when the fan-out
+-- starts) and the user id it has reached. A fan-out that was rejected or stopped part-way is resumed
+-- from the cursor.
+ALTER TABLE public.notification_messages ADD COLUMN IF NOT EXISTS fanout_target_user_id bigint;
+ALTER TABLE public.notification_messages ADD COLUMN IF NOT EXISTS fanout_cursor_user_id bigint;
+
+-- Broadcasts sent before this migration are treated as complete
+UPDATE public.notification_messages
+SET fanout_target_user_id = 0,
+    fanout_cursor_user_id = 0
+WHERE origin = 'GLOBAL'
+  AND fanout_target_user_id IS NULL;
+
+-- Serves the resume sweep, which only looks at unfinished broadcasts
+CREATE INDEX IF NOT EXISTS idx_notification_messages_unfinished_fanout
+    ON public.notification_messages (created_at)
+    WHERE origin = 'GLOBAL'
+      AND (fanout_target_user_id IS NULL OR COALESCE(fanout_cursor_user_id, 0) < fanout_target_user_id);
@@ -0,0 +1,64 @@
+package com.campus.event.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrincipalCacheTest {
+
+    private static final long FAR_FUTURE = System.currentTimeMillis() + 3_600_000;
+
+    @Test
+    void cachedPrincipalIsReturnedForTheSameToken() {
+        PrincipalCache cache = new PrincipalCache(10, 60);
+        UserDetails alice = user("alice");
+        cache.put("token-a", alice, FAR_FUTURE);
+
+        assertSame(alice, cache.get("token-a"));
+        assertNull(cache.get("token-b"));
+    }
+
+    @Test
+    void invalidateUserDropsAllOfTheirTokensOnly() {
+        PrincipalCache cache = new PrincipalCache(10, 60);
+        cache.put("a1", user("alice"), FAR_FUTURE);
+        cache.put("a2", user("alice"), FAR_FUTURE);
+        cache.put("b1", user("bob"), FAR_FUTURE);
+
+        cache.invalidateUser("alice");
+
+        assertNull(cache.get("a1"));
+        assertNull(cache.get("a2"));
+        assertNotNull(cache.get("b1"));
+    }
+
+    @Test
+    void expiredTokenIsNotServed() {
+        PrincipalCache cache = new PrincipalCache(10, 60);
+        cache.put("old", user("alice"), System.currentTimeMillis() - 1);
+
+        assertNull(cache.get("old"));
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedAtCapacity() {
+        PrincipalCache cache = new PrincipalCache(2, 60);
+        cache.put("a", user("alice"), FAR_FUTURE);
+        cache.put("b", user("bob"), FAR_FUTURE);
+        cache.get("a");
+        cache.put("c", user("carol"), FAR_FUTURE);
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+
+    private static UserDetails user(String name) {
+        return new User(name, "x", List.of(new SimpleGrantedAuthority("ROLE_GENERAL_USER")));
+    }
+}
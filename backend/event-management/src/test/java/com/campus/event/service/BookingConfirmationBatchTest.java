@@ -0,0 +1,75 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.User;
+import com.campus.event.repository.EventRepository;
+import com.campus.event.repository.RoomBookingRequestRepository;
+import com.campus.event.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingConfirmationBatchTest {
+
+    @Mock
+    private RoomBookingRequestRepository requestRepo;
+    @Mock
+    private EventRepository eventRepo;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private NotificationService notificationService;
+
+    @InjectMocks
+    private BookingConfirmationBatch batch;
+
+    @Test
+    void chunkPlacesEventsAndQueuesOneNotificationPerKnownRequester() {
+        LocalDateTime cutoff = LocalDateTime.now().plusDays(2);
+        User alice = new User();
+        alice.setUsername("alice");
+        when(requestRepo.confirmApprovedChunk(eq(cutoff), eq(0L), any(), eq(50))).thenReturn(List.of(
+                row(1L, 10L, "alice", 120L),
+                row(2L, 11L, "ghost", 30L),
+                row(3L, 10L, null, 600L)));
+        when(userRepository.findByUsernameIn(Set.of("alice", "ghost"))).thenReturn(List.of(alice));
+
+        BookingConfirmationBatch.Chunk chunk = batch.confirmChunk(cutoff, 0L, 50);
+
+        assertEquals(3, chunk.confirmed());
+        assertEquals(600L, chunk.maxLagSeconds());
+        assertEquals(Set.of(10L, 11L), chunk.eventIds());
+        assertEquals(3L, chunk.lastId());
+        verify(eventRepo).placeEventsInAllocatedRooms(List.of(1L, 2L, 3L));
+        verify(notificationService).notifyAllChannels(eq(alice), eq("Room booking confirmed"), contains("ID 1"));
+        verifyNoMoreInteractions(notificationService);
+    }
+
+    @Test
+    void emptyChunkTouchesNothingElse() {
+        when(requestRepo.confirmApprovedChunk(any(), anyLong(), any(), anyInt())).thenReturn(List.of());
+
+        assertEquals(0, batch.confirmChunk(LocalDateTime.now(), 0L, 50).confirmed());
+        verifyNoInteractions(eventRepo, userRepository, notificationService);
+    }
+
+    private static RoomBookingRequestRepository.ConfirmedRow row(Long id, Long eventId, String username, Long lag) {
+        return new RoomBookingRequestRepository.ConfirmedRow() {
+            public Long getId() { return id; }
+            public Long getEventId() { return eventId; }
+            public String getRoomName() { return "Room " + id; }
+            public String getRequestedByUsername() { return username; }
+            public Long getLagSeconds() { return lag; }
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package com.campus.event.service;
+
+import com.campus.event.repository.NotificationDeliveryRepository;
+import com.campus.event.repository.NotificationMessageRepository;
+import com.campus.event.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BroadcastFanoutServiceTest {
+
+    @Mock
+    private NotificationDeliveryRepository deliveryRepository;
+
+    @Mock
+    private NotificationMessageRepository messageRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private BroadcastFanoutService service;
+
+    @Test
+    void fanOutWalksUserIdsInChunksAndTracksProgress() {
+        when(userRepository.count()).thenReturn(1500L);
+        when(userRepository.findMaxId()).thenReturn(2500L);
+        when(deliveryRepository.insertDeliveriesForUserRange(eq(9L), anyLong(), anyLong(), any(LocalDateTime.class)))
+                .thenReturn(1000, 300, 200);
+
+        service.fanOut(9L);
+
+        verify(deliveryRepository).insertDeliveriesForUserRange(eq(9L), eq(0L), eq(1000L), any(LocalDateTime.class));
+        verify(deliveryRepository).insertDeliveriesForUserRange(eq(9L), eq(1000L), eq(2000L), any(LocalDateTime.class));
+        verify(deliveryRepository).insertDeliveriesForUserRange(eq(9L), eq(2000L), eq(2500L), any(LocalDateTime.class));
+        verify(messageRepository).startFanout(9L, 2500L);
+        verify(messageRepository).advanceFanout(9L, 2500L);
+        BroadcastFanoutService.Progress p = service.getProgress(9L);
+        assertEquals(BroadcastFanoutService.State.COMPLETED, p.state());
+        assertEquals(1500L, p.delivered());
+    }
+
+    @Test
+    void failedChunkMarksBroadcastFailed() {
+        when(userRepository.count()).thenReturn(10L);
+        when(userRepository.findMaxId()).thenReturn(10L);
+        when(deliveryRepository.insertDeliveriesForUserRange(eq(3L), anyLong(), anyLong(), any(LocalDateTime.class)))
+                .thenThrow(new IllegalStateException("db down"));
+
+        service.fanOut(3L);
+
+        assertEquals(BroadcastFanoutService.State.FAILED, service.getProgress(3L).state());
+    }
+
+    @Test
+    void unfinishedBroadcastResumesFromItsCursorWithTheOriginalAudience() {
+        when(messageRepository.findUnfinishedBroadcastIds(any(LocalDateTime.class))).thenReturn(List.of(4L));
+        when(userRepository.count()).thenReturn(3000L);
+        when(userRepository.findMaxId()).thenReturn(3200L);
+        when(messageRepository.findFanoutStateById(4L)).thenReturn(fanoutState(2500L, 1000L));
+        when(deliveryRepository.countByNotification_Id(4L)).thenReturn(900L);
+        when(deliveryRepository.insertDeliveriesForUserRange(eq(4L), anyLong(), anyLong(), any(LocalDateTime.class)))
+                .thenReturn(1000, 500);
+
+        service.resumeUnfinished();
+
+        verify(deliveryRepository).insertDeliveriesForUserRange(eq(4L), eq(1000L), eq(2000L), any(LocalDateTime.class));
+        verify(deliveryRepository).insertDeliveriesForUserRange(eq(4L), eq(2000L), eq(2500L), any(LocalDateTime.class));
+        verifyNoMoreInteractions(ignoreStubs(deliveryRepository));
+        BroadcastFanoutService.Progress p = service.getProgress(4L);
+        assertEquals(BroadcastFanoutService.State.COMPLETED, p.state());
+        assertEquals(2400L, p.delivered());
+    }
+
+    @Test
+    void untrackedBroadcastIsAnsweredFromTheDatabase() {
+        when(userRepository.count()).thenReturn(40L);
+        when(deliveryRepository.countByNotification_Id(5L)).thenReturn(40L);
+
+        BroadcastFanoutService.Progress p = service.getProgress(5L);
+
+        assertEquals(BroadcastFanoutService.State.UNKNOWN, p.state());
+        assertEquals(40L, p.delivered());
+    }
+
+    private static NotificationMessageRepository.FanoutState fanoutState(Long target, Long cursor) {
+        return new NotificationMessageRepository.FanoutState() {
+            public Long getFanoutTargetUserId() { return target; }
+            public Long getFanoutCursorUserId() { return cursor; }
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.Building;
+import com.campus.event.domain.BuildingTimetable;
+import com.campus.event.repository.BuildingTimetableRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BuildingTimetableServiceTest {
+
+    @Mock
+    private BuildingTimetableRepository repository;
+
+    @InjectMocks
+    private BuildingTimetableService service;
+
+    private LocalDate monday;
+
+    @BeforeEach
+    void setUp() {
+        monday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    }
+
+    @Test
+    void bookingMustFitInsideOneConfiguredRow() {
+        when(repository.findAll()).thenReturn(List.of(
+                row(1L, DayOfWeek.MONDAY, 12, 18),
+                row(1L, DayOfWeek.MONDAY, 8, 12),
+                row(1L, DayOfWeek.MONDAY, 9, 10)));
+
+        assertTrue(service.isBookingWithinBuildingHours(1L, monday.atTime(9, 0), monday.atTime(12, 0)));
+        assertTrue(service.isBookingWithinBuildingHours(1L, monday.atTime(10, 30), monday.atTime(11, 30)));
+        assertTrue(service.isBookingWithinBuildingHours(1L, monday.atTime(13, 0), monday.atTime(17, 0)));
+        // touching rows are not joined
+        assertFalse(service.isBookingWithinBuildingHours(1L, monday.atTime(11, 0), monday.atTime(13, 0)));
+        assertFalse(service.isBookingWithinBuildingHours(1L, monday.atTime(7, 0), monday.atTime(9, 0)));
+        assertFalse(service.isBookingWithinBuildingHours(1L, monday.atTime(17, 0), monday.atTime(19, 0)));
+    }
+
+    @Test
+    void daysAndBuildingsWithoutRowsAreUnrestricted() {
+        when(repository.findAll()).thenReturn(List.of(row(1L, DayOfWeek.MONDAY, 8, 22)));
+
+        assertTrue(service.isBookingWithinBuildingHours(1L, monday.plusDays(1).atTime(6, 0), monday.plusDays(1).atTime(23, 0)));
+        assertTrue(service.isBookingWithinBuildingHours(2L, monday.atTime(6, 0), monday.atTime(23, 0)));
+    }
+
+    @Test
+    void tableIsLoadedOnceUntilInvalidated() {
+        when(repository.findAll()).thenReturn(List.of(row(1L, DayOfWeek.MONDAY, 8, 22)));
+
+        service.loadOnStartup();
+        service.isBookingWithinBuildingHours(1L, monday.atTime(9, 0), monday.atTime(10, 0));
+        service.isBookingWithinBuildingHours(1L, monday.plusWeeks(1).atTime(9, 0), monday.plusWeeks(1).atTime(10, 0));
+        verify(repository, times(1)).findAll();
+
+        service.invalidate();
+        service.isBookingWithinBuildingHours(1L, monday.atTime(9, 0), monday.atTime(10, 0));
+        verify(repository, times(2)).findAll();
+    }
+
+    private static BuildingTimetable row(Long buildingId, DayOfWeek day, int fromHour, int toHour) {
+        Building building = new Building();
+        building.setId(buildingId);
+        BuildingTimetable bt = new BuildingTimetable();
+        bt.setBuilding(building);
+        bt.setDayOfWeek(day);
+        bt.setStartTime(LocalTime.of(fromHour, 0));
+        bt.setEndTime(LocalTime.of(toHour, 0));
+        return bt;
+    }
+}
@@ -0,0 +1,62 @@
+package com.campus.event.service;
+
+import com.campus.event.web.PublicResponseCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConfirmBookingSchedulerTest {
+
+    @Mock
+    private BookingConfirmationBatch batch;
+    @Mock
+    private PublicResponseCache publicResponseCache;
+
+    private ConfirmBookingScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ConfirmBookingScheduler(batch, publicResponseCache);
+        ReflectionTestUtils.setField(scheduler, "chunkSize", 2);
+    }
+
+    @Test
+    void failingChunkIsRetriedOneByOneAndTheBadRowSkipped() {
+        when(batch.confirmChunk(any(), eq(0L), eq(2))).thenThrow(new IllegalStateException("bad row"));
+        when(batch.nextCandidateId(any(), eq(0L))).thenReturn(5L);
+        when(batch.confirmChunk(any(), eq(4L), eq(1))).thenThrow(new IllegalStateException("bad row"));
+        when(batch.nextCandidateId(any(), eq(5L))).thenReturn(6L);
+        when(batch.confirmChunk(any(), eq(5L), eq(1))).thenReturn(new BookingConfirmationBatch.Chunk(1, 30, Set.of(70L), 6L));
+        when(batch.confirmChunk(any(), eq(6L), eq(2))).thenReturn(new BookingConfirmationBatch.Chunk(1, 10, Set.of(71L), 9L));
+
+        scheduler.confirmApprovedBookings();
+
+        ConfirmBookingScheduler.RunStats run = scheduler.getLastRun();
+        assertEquals(2, run.confirmed());
+        assertEquals(30, run.maxLagSeconds());
+        verify(publicResponseCache).invalidate(PublicResponseCache.eventKey(70L));
+        verify(publicResponseCache).invalidate(PublicResponseCache.eventKey(71L));
+    }
+
+    @Test
+    void runStopsWhenEveryRetriedRowFails() {
+        when(batch.confirmChunk(any(), anyLong(), anyInt())).thenThrow(new IllegalStateException("db down"));
+        when(batch.nextCandidateId(any(), eq(0L))).thenReturn(1L);
+        when(batch.nextCandidateId(any(), eq(1L))).thenReturn(2L);
+
+        scheduler.confirmApprovedBookings();
+
+        assertEquals(0, scheduler.getLastRun().confirmed());
+        verify(batch, times(3)).confirmChunk(any(), anyLong(), anyInt());
+    }
+}
@@ -0,0 +1,130 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.Event;
+import com.campus.event.domain.EventRegistration;
+import com.campus.event.domain.EventWaitlistEntry;
+import com.campus.event.domain.User;
+import com.campus.event.repository.EventRegistrationRepository;
+import com.campus.event.repository.EventRepository;
+import com.campus.event.repository.EventWaitlistRepository;
+import com.campus.event.repository.RegistrationRepository;
+import com.campus.event.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventRegistrationServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private EventRegistrationRepository registrationRepository;
+    @Mock
+    private RegistrationRepository legacyRegistrationRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private EventWaitlistRepository waitlistRepository;
+    @Mock
+    private EventSeatService seatService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private EventRegistrationService service;
+
+    private Event event;
+    private EventWaitlistEntry head;
+    private User waiting;
+
+    @BeforeEach
+    void setUp() {
+        event = new Event();
+        event.setId(7L);
+        User leaving = user(1L, "leaving");
+        waiting = user(2L, "waiting");
+        EventRegistration reg = new EventRegistration();
+        reg.setEvent(event);
+        reg.setUser(leaving);
+        lenient().when(registrationRepository.findByEvent_IdAndUser_Username(7L, "leaving")).thenReturn(Optional.of(reg));
+        head = new EventWaitlistEntry();
+        head.setEventId(7L);
+        head.setUserId(2L);
+        head.setFullName("Waiting W");
+        lenient().when(waitlistRepository.findFirstByEventIdOrderByIdAsc(7L)).thenReturn(Optional.of(head));
+        lenient().when(userRepository.findById(2L)).thenReturn(Optional.of(waiting));
+    }
+
+    @Test
+    void promotedUserLeavesTheWaitlistOnlyAfterRegistering() {
+        when(seatService.tryReserve(event)).thenReturn(true);
+
+        assertTrue(service.cancel(7L, "leaving"));
+
+        InOrder order = inOrder(seatService, registrationRepository, waitlistRepository);
+        order.verify(seatService).release(7L);
+        order.verify(seatService).tryReserve(event);
+        order.verify(registrationRepository).save(argThat(r -> r.getUser() == waiting));
+        order.verify(waitlistRepository).delete(head);
+    }
+
+    @Test
+    void headKeepsItsPlaceWhenNoSeatCanBeTaken() {
+        when(seatService.tryReserve(event)).thenReturn(false);
+
+        assertTrue(service.cancel(7L, "leaving"));
+
+        verify(waitlistRepository, never()).delete(any());
+        verify(registrationRepository, never()).save(any());
+    }
+
+    @Test
+    void headAlreadyRegisteredIsDroppedAndTheNextEntryPromoted() {
+        EventWaitlistEntry next = new EventWaitlistEntry();
+        next.setEventId(7L);
+        next.setUserId(3L);
+        next.setFullName("Next N");
+        User nextUser = user(3L, "next");
+        when(waitlistRepository.findFirstByEventIdOrderByIdAsc(7L)).thenReturn(Optional.of(head), Optional.of(next));
+        when(registrationRepository.existsByEvent_IdAndUser_Id(7L, 2L)).thenReturn(true);
+        when(userRepository.findById(3L)).thenReturn(Optional.of(nextUser));
+        when(seatService.tryReserve(event)).thenReturn(true);
+
+        assertTrue(service.cancel(7L, "leaving"));
+
+        verify(waitlistRepository).delete(head);
+        verify(registrationRepository, never()).save(argThat(r -> r.getUser() == waiting));
+        verify(registrationRepository).save(argThat(r -> r.getUser() == nextUser));
+        verify(waitlistRepository).delete(next);
+        verify(seatService, times(1)).tryReserve(event);
+    }
+
+    @Test
+    void registeringDropsTheUsersWaitlistEntry() {
+        when(waitlistRepository.findByEventIdAndUserId(7L, 2L)).thenReturn(Optional.of(head));
+
+        service.register(event, waiting, "Waiting W");
+
+        verify(registrationRepository).save(argThat(r -> r.getUser() == waiting));
+        verify(waitlistRepository).delete(head);
+    }
+
+    private static User user(Long id, String username) {
+        User u = new User();
+        u.setId(id);
+        u.setUsername(username);
+        return u;
+    }
+}
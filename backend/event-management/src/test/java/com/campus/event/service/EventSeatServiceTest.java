@@ -0,0 +1,85 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.Event;
+import com.campus.event.repository.EventSeatCounterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventSeatServiceTest {
+
+    @Mock
+    private EventSeatCounterRepository counterRepository;
+
+    @InjectMocks
+    private EventSeatService seatService;
+
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        event = new Event();
+        event.setId(5L);
+        event.setMaxAttendees(2);
+    }
+
+    @Test
+    void missingCounterIsInitializedThenTaken() {
+        when(counterRepository.takeSeat(5L, 2)).thenReturn(0, 1);
+        when(counterRepository.initialize(5L)).thenReturn(1);
+
+        assertTrue(seatService.tryReserve(event));
+        verify(counterRepository, times(2)).takeSeat(5L, 2);
+    }
+
+    @Test
+    void counterCreatedByAConcurrentRegistrationIsStillTried() {
+        // Both first registrations miss the row; this one loses the insert but must still get a seat
+        when(counterRepository.takeSeat(5L, 2)).thenReturn(0, 1);
+        when(counterRepository.initialize(5L)).thenReturn(0);
+
+        assertTrue(seatService.tryReserve(event));
+        verify(counterRepository, times(2)).takeSeat(5L, 2);
+    }
+
+    @Test
+    void soldOutEventIsRefusedWithoutTheDatabaseUntilCapacityGrows() {
+        when(counterRepository.takeSeat(5L, 2)).thenReturn(0);
+        when(counterRepository.initialize(5L)).thenReturn(0);
+
+        assertFalse(seatService.tryReserve(event));
+        assertFalse(seatService.tryReserve(event));
+        verify(counterRepository, times(2)).takeSeat(5L, 2);
+
+        event.setMaxAttendees(3);
+        when(counterRepository.takeSeat(5L, 3)).thenReturn(1);
+        assertTrue(seatService.tryReserve(event));
+    }
+
+    @Test
+    void releaseReopensASoldOutEvent() {
+        when(counterRepository.takeSeat(5L, 2)).thenReturn(0, 0, 1);
+        when(counterRepository.initialize(5L)).thenReturn(0);
+
+        assertFalse(seatService.tryReserve(event));
+        seatService.release(5L);
+
+        assertTrue(seatService.tryReserve(event));
+        verify(counterRepository).releaseSeat(5L);
+    }
+
+    @Test
+    void unlimitedEventsAreStillCounted() {
+        event.setMaxAttendees(null);
+        when(counterRepository.takeSeat(5L, Integer.MAX_VALUE)).thenReturn(1);
+
+        assertTrue(seatService.tryReserve(event));
+    }
+}
@@ -2,6 +2,7 @@ package com.campus.event.service;
 
 import com.campus.event.domain.Building;
 import com.campus.event.domain.Event;
+import com.campus.event.domain.EventRegistration;
 import com.campus.event.domain.User;
 import com.campus.event.testsupport.TestBuildings;
 import com.campus.event.repository.EventRegistrationRepository;
@@ -14,12 +15,16 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +42,9 @@ class EventServiceTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private RoomBookingWriter roomBookingWriter;
+
     @InjectMocks
     private EventService eventService;
 
@@ -124,4 +132,73 @@ class EventServiceTest {
         assertEquals(expected, result);
         verify(eventRepository).findByIsPublicTrue();
     }
+
+    @Test
+    void getPublicEventFeed_returnsCursorOnlyWhenMoreRowsExist() {
+        LocalDateTime t = LocalDateTime.now().plusDays(1).withNano(0);
+        List<EventRepository.PublicEventRow> rows = List.of(row(1L, t), row(2L, t), row(3L, t.plusHours(1)));
+        when(eventRepository.findPublicFeedAscending(any(), any(), any(), isNull(), isNull(), any())).thenReturn(rows);
+
+        EventService.EventFeedPage page = eventService.getPublicEventFeed(false, null, null, null, null, null, 2);
+
+        assertEquals(2, page.items().size());
+        assertNotNull(page.nextCursor());
+
+        when(eventRepository.findPublicFeedAscending(eq(t), eq(2L), any(), isNull(), isNull(), any())).thenReturn(List.of(rows.get(2)));
+        EventService.EventFeedPage next = eventService.getPublicEventFeed(false, null, null, null, null, page.nextCursor(), 2);
+
+        assertEquals(1, next.items().size());
+        assertNull(next.nextCursor());
+    }
+
+    @Test
+    void getPublicEventFeed_rejectsGarbageCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> eventService.getPublicEventFeed(true, null, null, null, null, "not-a-cursor", 10));
+    }
+
+
+    @Test
+    void updateEvent_reschedule_movesBookingWindowsAndNotifiesRegistrants() {
+        LocalDateTime start = LocalDateTime.now().plusDays(5);
+        Event existing = new Event();
+        ReflectionTestUtils.setField(existing, "id", 3L);
+        existing.setTitle("Tech Talk");
+        existing.setStartTime(start);
+        existing.setEndTime(start.plusHours(2));
+        existing.setLocation("Room 101");
+        EventRegistration reg = new EventRegistration();
+        reg.setUser(creator);
+        when(eventRepository.findById(3L)).thenReturn(Optional.of(existing));
+        when(eventRegistrationRepository.findByEvent_Id(3L)).thenReturn(List.of(reg));
+
+        eventService.updateEvent(3L, "Tech Talk", null, start.plusHours(1), start.plusHours(3),
+                testBuilding, "Room 101", null, null, null);
+
+        verify(eventRepository).save(existing);
+        verify(roomBookingWriter).moveEventWindow(3L, start.plusHours(1), start.plusHours(3));
+        verify(notificationService).notifyAllChannels(eq(creator), eq("Event updated: Tech Talk"), any());
+    }
+
+    @Test
+    void updateEvent_overlappingBooking_propagatesConflictBeforeNotifying() {
+        LocalDateTime start = LocalDateTime.now().plusDays(5);
+        Event existing = new Event();
+        ReflectionTestUtils.setField(existing, "id", 3L);
+        existing.setStartTime(start);
+        existing.setEndTime(start.plusHours(2));
+        when(eventRepository.findById(3L)).thenReturn(Optional.of(existing));
+        when(roomBookingWriter.moveEventWindow(3L, start, start.plusHours(4)))
+                .thenThrow(new BookingConflictException(BookingConflictException.Reason.OVERLAP, "overlap", null));
+
+        assertThrows(BookingConflictException.class, () -> eventService.updateEvent(3L, "Tech Talk", null,
+                start, start.plusHours(4), testBuilding, "Room 101", null, null, null));
+        verifyNoInteractions(notificationService);
+    }
+    private static EventRepository.PublicEventRow row(Long id, LocalDateTime start) {
+        EventRepository.PublicEventRow r = mock(EventRepository.PublicEventRow.class, withSettings().lenient());
+        when(r.getId()).thenReturn(id);
+        when(r.getStartTime()).thenReturn(start);
+        return r;
+    }
 }
@@ -0,0 +1,58 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.NotificationStatus;
+import com.campus.event.domain.NotificationType;
+import com.campus.event.repository.NotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @InjectMocks
+    private NotificationOutbox outbox;
+
+    @Test
+    void backoffDoublesPerAttemptUpToTheCap() {
+        assertEquals(30, outbox.backoffSeconds(1));
+        assertEquals(60, outbox.backoffSeconds(2));
+        assertEquals(240, outbox.backoffSeconds(4));
+        assertEquals(3600, outbox.backoffSeconds(20));
+    }
+
+    @Test
+    void transientFailureIsRescheduled() {
+        NotificationOutbox.OutboundMessage m = message(1);
+
+        outbox.recordFailure(m, "timeout", false);
+
+        verify(notificationRepository).markAttemptFailed(eq(7L), eq(NotificationStatus.PENDING), any(LocalDateTime.class), eq("timeout"));
+    }
+
+    @Test
+    void lastAttemptOrPermanentFailureIsFinal() {
+        outbox.recordFailure(message(4), "timeout", false);
+        outbox.recordFailure(message(0), "No recipient address", true);
+
+        verify(notificationRepository).markAttemptFailed(eq(7L), eq(NotificationStatus.FAILED), isNull(), eq("timeout"));
+        verify(notificationRepository).markAttemptFailed(eq(7L), eq(NotificationStatus.FAILED), isNull(), eq("No recipient address"));
+    }
+
+    private static NotificationOutbox.OutboundMessage message(int attempts) {
+        return new NotificationOutbox.OutboundMessage(7L, NotificationType.EMAIL, "a@example.com", "s", "m", attempts);
+    }
+}
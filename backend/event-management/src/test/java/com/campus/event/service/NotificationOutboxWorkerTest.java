@@ -0,0 +1,67 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.NotificationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxWorkerTest {
+
+    @Mock
+    private NotificationOutbox outbox;
+    @Mock
+    private OutboundChannelSender channelSender;
+    @Mock
+    private ThreadPoolTaskExecutor executor;
+
+    private NotificationOutboxWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new NotificationOutboxWorker(outbox, channelSender, executor, 10, 1, 50, 2000);
+    }
+
+    @Test
+    void eachPollClaimsAtMostOnePollWorthOfEachChannel() {
+        when(outbox.claimDue(NotificationType.EMAIL, 20)).thenReturn(List.of(message(1L), message(2L), message(3L)));
+        when(outbox.claimDue(NotificationType.SMS, 2)).thenReturn(List.of());
+
+        worker.drain();
+
+        verify(executor, times(3)).execute(any(Runnable.class));
+    }
+
+    @Test
+    void rateLimiterGrantsUpToItsBudgetAndTakesBackUnusedPermits() {
+        NotificationOutboxWorker.RateLimiter limiter = new NotificationOutboxWorker.RateLimiter(1, 2000);
+
+        assertEquals(2, limiter.tryAcquire(100));
+        assertEquals(0, limiter.tryAcquire(100));
+        limiter.release(1);
+        assertEquals(1, limiter.tryAcquire(100));
+    }
+
+    @Test
+    void deliverySendsWithoutWaitingAndRecordsTheOutcome() {
+        NotificationOutbox.OutboundMessage m = message(4L);
+
+        worker.deliver(m);
+
+        verify(channelSender).sendEmail("a@example.com", "s", "m");
+        verify(outbox).recordSent(m);
+    }
+
+    private static NotificationOutbox.OutboundMessage message(Long id) {
+        return new NotificationOutbox.OutboundMessage(id, NotificationType.EMAIL, "a@example.com", "s", "m", 0);
+    }
+}
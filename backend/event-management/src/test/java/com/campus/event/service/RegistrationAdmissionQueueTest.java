@@ -0,0 +1,110 @@
+package com.campus.event.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RegistrationAdmissionQueueTest {
+
+    @Mock
+    private EventRegistrationService registrationService;
+
+    private RegistrationAdmissionQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new RegistrationAdmissionQueue(registrationService, 2);
+    }
+
+    @Test
+    void repeatedRequestsReuseTheOpenTicketAndFullQueueRefuses() {
+        RegistrationAdmissionQueue.TicketView first = queue.enqueue(1L, 10L, "A").orElseThrow();
+        RegistrationAdmissionQueue.TicketView again = queue.enqueue(1L, 10L, "A").orElseThrow();
+        RegistrationAdmissionQueue.TicketView second = queue.enqueue(1L, 11L, "B").orElseThrow();
+
+        assertEquals(first.ticketId(), again.ticketId());
+        assertEquals(1L, first.position());
+        assertEquals(2L, second.position());
+        assertTrue(queue.enqueue(1L, 12L, "C").isEmpty());
+    }
+
+    @Test
+    void drainAdmitsPerEventAndRecordsOutcomes() {
+        String a = queue.enqueue(1L, 10L, "A").orElseThrow().ticketId();
+        String b = queue.enqueue(2L, 11L, "B").orElseThrow().ticketId();
+        when(registrationService.admitBatch(eq(1L), anyList())).thenReturn(List.of(
+                new EventRegistrationService.AdmissionResult(a, EventRegistrationService.Outcome.CONFIRMED, 100L, null)));
+        when(registrationService.admitBatch(eq(2L), anyList())).thenReturn(List.of(
+                new EventRegistrationService.AdmissionResult(b, EventRegistrationService.Outcome.WAITLISTED, null, 3L)));
+
+        queue.drain();
+
+        RegistrationAdmissionQueue.TicketView ta = queue.find(a, 10L).orElseThrow();
+        assertEquals(RegistrationAdmissionQueue.Status.CONFIRMED, ta.status());
+        assertEquals(100L, ta.registrationId());
+        assertNull(ta.position());
+        assertEquals(3L, queue.find(b, 11L).orElseThrow().waitlistPosition());
+        assertTrue(queue.find(a, 11L).isEmpty());
+        assertEquals(0, queue.size());
+
+        // a finished ticket no longer blocks a new request from the same user
+        assertNotEquals(a, queue.enqueue(1L, 10L, "A").orElseThrow().ticketId());
+    }
+
+    @Test
+    void failedBatchRejectsItsTickets() {
+        String a = queue.enqueue(1L, 10L, "A").orElseThrow().ticketId();
+        when(registrationService.admitBatch(eq(1L), anyList())).thenThrow(new IllegalStateException("db down"));
+
+        queue.drain();
+
+        assertEquals(RegistrationAdmissionQueue.Status.REJECTED, queue.find(a, 10L).orElseThrow().status());
+    }
+
+    @Test
+    void failedBatchIsRetriedOneAdmissionAtATime() {
+        String a = queue.enqueue(1L, 10L, "A").orElseThrow().ticketId();
+        String b = queue.enqueue(1L, 11L, "B").orElseThrow().ticketId();
+        when(registrationService.admitBatch(eq(1L), argThat(l -> l != null && l.size() == 2)))
+                .thenThrow(new IllegalStateException("duplicate key"));
+        when(registrationService.admitBatch(eq(1L), argThat(l -> l != null && l.size() == 1 && l.get(0).userId() == 10L)))
+                .thenThrow(new IllegalStateException("duplicate key"));
+        when(registrationService.admitBatch(eq(1L), argThat(l -> l != null && l.size() == 1 && l.get(0).userId() == 11L)))
+                .thenReturn(List.of(new EventRegistrationService.AdmissionResult(b, EventRegistrationService.Outcome.CONFIRMED, 101L, null)));
+
+        queue.drain();
+
+        assertEquals(RegistrationAdmissionQueue.Status.REJECTED, queue.find(a, 10L).orElseThrow().status());
+        RegistrationAdmissionQueue.TicketView tb = queue.find(b, 11L).orElseThrow();
+        assertEquals(RegistrationAdmissionQueue.Status.CONFIRMED, tb.status());
+        assertEquals(101L, tb.registrationId());
+    }
+
+    @Test
+    void waitlistedTicketReportsPromotionAndCurrentPosition() {
+        String a = queue.enqueue(1L, 10L, "A").orElseThrow().ticketId();
+        when(registrationService.admitBatch(eq(1L), anyList())).thenReturn(List.of(
+                new EventRegistrationService.AdmissionResult(a, EventRegistrationService.Outcome.WAITLISTED, null, 3L)));
+        queue.drain();
+
+        when(registrationService.registrationId(1L, 10L)).thenReturn(Optional.empty());
+        when(registrationService.waitlistPosition(1L, 10L)).thenReturn(Optional.of(1L));
+        assertEquals(1L, queue.find(a, 10L).orElseThrow().waitlistPosition());
+
+        when(registrationService.registrationId(1L, 10L)).thenReturn(Optional.of(100L));
+        RegistrationAdmissionQueue.TicketView promoted = queue.find(a, 10L).orElseThrow();
+        assertEquals(RegistrationAdmissionQueue.Status.CONFIRMED, promoted.status());
+        assertEquals(100L, promoted.registrationId());
+        assertNull(promoted.waitlistPosition());
+    }
+}
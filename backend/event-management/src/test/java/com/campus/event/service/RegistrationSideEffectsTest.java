@@ -0,0 +1,94 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.Event;
+import com.campus.event.domain.EventRegistration;
+import com.campus.event.domain.Registration;
+import com.campus.event.domain.User;
+import com.campus.event.repository.EventRegistrationRepository;
+import com.campus.event.repository.EventRepository;
+import com.campus.event.repository.RegistrationRepository;
+import com.campus.event.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RegistrationSideEffectsTest {
+
+    @Mock
+    private EventRegistrationRepository registrationRepository;
+    @Mock
+    private EventRepository eventRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private RegistrationRepository legacyRegistrationRepository;
+    @Mock
+    private NotificationService notificationService;
+
+    @InjectMocks
+    private RegistrationSideEffects sideEffects;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchIsAppliedPerEventAndSkipsCancelledRegistrations() {
+        Event event = new Event();
+        event.setId(7L);
+        event.setTitle("Fest");
+        User alice = user(1L, "alice", "alice@x.edu");
+        User bob = user(2L, "bob", "bob@x.edu");
+        when(registrationRepository.findAllById(Set.of(100L, 101L, 102L)))
+                .thenReturn(List.of(registration(100L), registration(101L)));
+        when(eventRepository.findAllById(Set.of(7L))).thenReturn(List.of(event));
+        when(userRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(alice, bob));
+        when(legacyRegistrationRepository.findEmailsByEventIdAndEmailIn(eq(7L), anyCollection()))
+                .thenReturn(List.of("bob@x.edu"));
+
+        sideEffects.apply(List.of(
+                new RegistrationCreated(100L, 7L, 1L, "Alice A"),
+                new RegistrationCreated(101L, 7L, 2L, null),
+                new RegistrationCreated(102L, 7L, 3L, "Cancelled")));
+
+        ArgumentCaptor<List<Registration>> saved = ArgumentCaptor.forClass(List.class);
+        verify(legacyRegistrationRepository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        assertEquals("Alice A", saved.getValue().get(0).getFullName());
+        verify(notificationService).notifyAllChannels(eq(alice), eq("Registration confirmed: Fest"), anyString());
+        verify(notificationService).notifyAllChannels(eq(bob), eq("Registration confirmed: Fest"), anyString());
+        verifyNoMoreInteractions(notificationService);
+    }
+
+    @Test
+    void nothingLiveMeansNoWrites() {
+        when(registrationRepository.findAllById(Set.of(100L))).thenReturn(List.of());
+
+        sideEffects.apply(List.of(new RegistrationCreated(100L, 7L, 1L, null)));
+
+        verifyNoInteractions(eventRepository, userRepository, legacyRegistrationRepository, notificationService);
+    }
+
+    private static User user(Long id, String username, String email) {
+        User u = new User();
+        u.setId(id);
+        u.setUsername(username);
+        u.setEmail(email);
+        return u;
+    }
+
+    private static EventRegistration registration(Long id) {
+        EventRegistration r = new EventRegistration();
+        ReflectionTestUtils.setField(r, "id", id);
+        return r;
+    }
+}
@@ -0,0 +1,167 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.Event;
+import com.campus.event.domain.Room;
+import com.campus.event.domain.RoomBookingRequest;
+import com.campus.event.repository.RoomBookingRequestRepository;
+import com.campus.event.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomAllocationEngineTest {
+
+    @Mock
+    private RoomBookingRequestRepository requestRepo;
+
+    @Mock
+    private RoomRepository roomRepo;
+
+    @Mock
+    private RoomAvailabilityService availabilityService;
+
+    @Mock
+    private RoomBookingWriter bookingWriter;
+
+    @InjectMocks
+    private RoomAllocationEngine engine;
+
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.now().plusDays(3).withHour(10).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @Test
+    void plan_olderRequestWinsContestedPreference() {
+        Room small = room(1L, 30);
+        Room other = room(2L, 30);
+        RoomBookingRequest older = meeting(start.minusHours(5), small);
+        RoomBookingRequest newer = meeting(start.minusHours(1), small);
+
+        when(availabilityService.availabilityMatrix(any(), any()))
+                .thenReturn(Map.of(1L, List.of(true, true), 2L, List.of(true, true)));
+
+        List<RoomAllocationEngine.Assignment> plan = engine.plan(List.of(newer, older), List.of(small, other));
+
+        assertEquals(2, plan.size());
+        assertSame(older, plan.get(0).request());
+        assertSame(small, plan.get(0).room());
+        assertSame(newer, plan.get(1).request());
+        assertSame(other, plan.get(1).room());
+    }
+
+    @Test
+    void plan_skipsOccupiedAndTooSmallRooms() {
+        Room busy = room(1L, 500);
+        Room tiny = room(2L, 10);
+        Room hall = room(3L, 300);
+        RoomBookingRequest r = meeting(start.minusHours(5));
+        Event event = new Event();
+        event.setStartTime(start);
+        event.setEndTime(start.plusHours(2));
+        event.setMaxAttendees(200);
+        r.setEvent(event);
+
+        when(availabilityService.availabilityMatrix(any(), any()))
+                .thenReturn(Map.of(1L, List.of(false), 2L, List.of(true), 3L, List.of(true)));
+
+        List<RoomAllocationEngine.Assignment> plan = engine.plan(List.of(r), List.of(busy, tiny, hall));
+
+        assertEquals(1, plan.size());
+        assertSame(hall, plan.get(0).room());
+    }
+
+    @Test
+    void plan_smallMeetingTakesSmallestFittingRoomNotTheHall() {
+        Room hall = room(1L, 400);
+        Room meetingRoom = room(2L, 12);
+        Room classroom = room(3L, 60);
+        RoomBookingRequest r = meeting(start.minusHours(5));
+
+        when(availabilityService.availabilityMatrix(any(), any()))
+                .thenReturn(Map.of(1L, List.of(true), 2L, List.of(true), 3L, List.of(true)));
+
+        List<RoomAllocationEngine.Assignment> plan = engine.plan(List.of(r), List.of(hall, meetingRoom, classroom));
+
+        assertSame(meetingRoom, plan.get(0).room());
+    }
+
+    @Test
+    void plan_freePreference_doesNotLoadCampusWideRooms() {
+        Room pref = room(1L, 30);
+        Room elsewhere = room(2L, 30);
+        RoomBookingRequest free = meeting(start.minusHours(5), pref);
+
+        when(availabilityService.availabilityMatrix(any(), any())).thenReturn(Map.of(1L, List.of(true)));
+
+        List<RoomAllocationEngine.Assignment> plan = engine.plan(List.of(free), List.of(pref, elsewhere));
+
+        assertSame(pref, plan.get(0).room());
+        verify(availabilityService).availabilityMatrix(eq(Set.of(1L)), any());
+        verifyNoMoreInteractions(availabilityService);
+    }
+
+    @Test
+    void plan_widensToCampusWideRoomsWhenPreferencesAreBusy() {
+        Room pref = room(1L, 30);
+        Room elsewhere = room(2L, 30);
+        RoomBookingRequest r = meeting(start.minusHours(5), pref);
+
+        when(availabilityService.availabilityMatrix(eq(Set.of(1L)), any())).thenReturn(Map.of(1L, List.of(false)));
+        when(availabilityService.availabilityMatrix(eq(Set.of(2L)), any())).thenReturn(Map.of(2L, List.of(true)));
+
+        List<RoomAllocationEngine.Assignment> plan = engine.plan(List.of(r), List.of(pref, elsewhere));
+
+        assertSame(elsewhere, plan.get(0).room());
+    }
+
+    @Test
+    void capacityIndex_bestFitStartsAtFirstRoomThatSeatsTheGroup() {
+        RoomAllocationEngine.CapacityIndex index = new RoomAllocationEngine.CapacityIndex(
+                List.of(room(1L, 400), room(2L, 12), room(3L, 60), room(4L, 60)));
+
+        List<Room> fit = index.bestFit(null, null, 50);
+
+        assertEquals(List.of(3L, 4L, 1L), fit.stream().map(Room::getId).toList());
+        assertTrue(index.bestFit(null, null, 500).isEmpty());
+    }
+
+    @Test
+    void plan_noPending_doesNotQueryAvailability() {
+        assertTrue(engine.plan(List.of(), List.of(room(1L, 30))).isEmpty());
+        verifyNoInteractions(availabilityService);
+    }
+
+    private RoomBookingRequest meeting(LocalDateTime requestedAt, Room... prefs) {
+        RoomBookingRequest r = new RoomBookingRequest();
+        r.setRequestedAt(requestedAt);
+        r.setMeetingStart(start);
+        r.setMeetingEnd(start.plusHours(2));
+        if (prefs.length > 0) r.setPref1(prefs[0]);
+        return r;
+    }
+
+    private static Room room(Long id, int capacity) {
+        Room room = new Room();
+        room.setId(id);
+        room.setName("Room " + id);
+        room.setCapacity(capacity);
+        return room;
+    }
+}
@@ -133,4 +133,26 @@ class RoomAvailabilityServiceTest {
 
         assertTrue(availabilityService.isRoomAvailable(1L, queryStart, queryEnd));
     }
+
+    @Test
+    void availabilityMatrix_answersEveryRoomAndWindowFromOneQuery() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        RoomBookingRequestRepository.OccupiedWindow booked = new RoomBookingRequestRepository.OccupiedWindow() {
+            public Long getRoomId() { return 1L; }
+            public LocalDateTime getWindowStart() { return start; }
+            public LocalDateTime getWindowEnd() { return start.plusHours(2); }
+        };
+        List<RoomAvailabilityService.TimeWindow> windows = List.of(
+                new RoomAvailabilityService.TimeWindow(start.plusHours(1), start.plusHours(3)),
+                new RoomAvailabilityService.TimeWindow(start.plusHours(2), start.plusHours(4)));
+
+        when(requestRepo.findOccupiedWindows(Set.of(1L, 2L), start.plusHours(1), start.plusHours(4)))
+                .thenReturn(List.of(booked));
+
+        Map<Long, List<Boolean>> result = availabilityService.availabilityMatrix(List.of(1L, 2L), windows);
+
+        assertEquals(List.of(false, true), result.get(1L));
+        assertEquals(List.of(true, true), result.get(2L));
+        verify(requestRepo, never()).findByStatusIn(any());
+    }
 }
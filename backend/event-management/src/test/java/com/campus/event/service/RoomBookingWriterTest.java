@@ -0,0 +1,71 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.RoomBookingRequest;
+import com.campus.event.repository.RoomBookingRequestRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomBookingWriterTest {
+
+    @Mock
+    private RoomBookingRequestRepository requestRepo;
+
+    @InjectMocks
+    private RoomBookingWriter writer;
+
+    @Test
+    void save_overlapConstraintViolation_isNonRetryableConflict() {
+        RoomBookingRequest r = new RoomBookingRequest();
+        SQLException cause = new SQLException(
+                "ERROR: conflicting key value violates exclusion constraint \"room_booking_no_overlap\"", "23P01");
+        when(requestRepo.saveAndFlush(r)).thenThrow(new DataIntegrityViolationException("could not execute statement", cause));
+
+        BookingConflictException ex = assertThrows(BookingConflictException.class, () -> writer.save(r));
+        assertEquals(BookingConflictException.Reason.OVERLAP, ex.getReason());
+        assertFalse(ex.isRetryable());
+    }
+
+    @Test
+    void save_staleVersion_isRetryableConflict() {
+        RoomBookingRequest r = new RoomBookingRequest();
+        when(requestRepo.saveAndFlush(r)).thenThrow(new ObjectOptimisticLockingFailureException("stale", null));
+
+        BookingConflictException ex = assertThrows(BookingConflictException.class, () -> writer.save(r));
+        assertEquals(BookingConflictException.Reason.CONCURRENT_UPDATE, ex.getReason());
+        assertTrue(ex.isRetryable());
+    }
+
+    @Test
+    void save_otherIntegrityViolation_isRethrown() {
+        RoomBookingRequest r = new RoomBookingRequest();
+        when(requestRepo.saveAndFlush(r)).thenThrow(new DataIntegrityViolationException("not null violation"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> writer.save(r));
+    }
+
+    @Test
+    void moveEventWindow_overlapConstraintViolation_isNonRetryableConflict() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 10, 10, 0);
+        LocalDateTime end = start.plusHours(2);
+        SQLException cause = new SQLException(
+                "ERROR: conflicting key value violates exclusion constraint \"room_booking_no_overlap\"", "23P01");
+        when(requestRepo.syncEffectiveWindowForEvent(7L, start, end))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement", cause));
+
+        BookingConflictException ex = assertThrows(BookingConflictException.class,
+                () -> writer.moveEventWindow(7L, start, end));
+        assertEquals(BookingConflictException.Reason.OVERLAP, ex.getReason());
+    }
+}
@@ -0,0 +1,55 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.TimeSlot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomDayOccupancyTest {
+
+    private final LocalDate date = LocalDate.now().plusDays(3);
+
+    @Test
+    void busyWindowsMarkEveryOverlappedSlot() {
+        RoomDayOccupancy occupancy = new RoomDayOccupancy.Builder(1L, date)
+                .busy(LocalTime.of(9, 0), LocalTime.of(9, 50))        // exactly SLOT_1
+                .busy(date.atTime(10, 0), date.atTime(11, 0))         // inside SLOT_2, into SLOT_3
+                .build();
+
+        assertFalse(occupancy.isSlotFree(TimeSlot.SLOT_1));
+        assertFalse(occupancy.isSlotFree(TimeSlot.SLOT_2));
+        assertFalse(occupancy.isSlotFree(TimeSlot.SLOT_3));
+        assertTrue(occupancy.isSlotFree(TimeSlot.SLOT_4));
+        assertEquals(0b111L, occupancy.getSlotMask());
+        assertEquals(TimeSlot.values().length - 3, occupancy.freeSlots().size());
+    }
+
+    @Test
+    void freeFormChecksUseMinuteIntervalsNotTheGrid() {
+        RoomDayOccupancy occupancy = new RoomDayOccupancy.Builder(1L, date)
+                .busy(date.atTime(10, 0), date.atTime(10, 15))
+                .build();
+
+        assertTrue(occupancy.isFree(LocalTime.of(10, 15), LocalTime.of(10, 40))); // touching end is free
+        assertFalse(occupancy.isFree(LocalTime.of(10, 10), LocalTime.of(10, 20)));
+        assertFalse(occupancy.isSlotFree(TimeSlot.SLOT_2));
+    }
+
+    @Test
+    void windowsFromOtherDaysAreClippedToThisDate() {
+        RoomDayOccupancy occupancy = new RoomDayOccupancy.Builder(1L, date)
+                .busy(date.minusDays(1).atTime(20, 0), date.atTime(9, 30)) // overnight into this morning
+                .busy(date.plusDays(1).atTime(9, 0), date.plusDays(1).atTime(12, 0))
+                .build();
+
+        assertFalse(occupancy.isFree(LocalTime.of(0, 0), LocalTime.of(1, 0)));
+        assertFalse(occupancy.isSlotFree(TimeSlot.SLOT_1));
+        assertTrue(occupancy.isSlotFree(TimeSlot.SLOT_2));
+        assertEquals(List.of(TimeSlot.SLOT_1), List.of(TimeSlot.values()).stream()
+                .filter(s -> !occupancy.isSlotFree(s)).toList());
+    }
+}
@@ -0,0 +1,153 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.Room;
+import com.campus.event.domain.RoomBookingRequest;
+import com.campus.event.domain.RoomBookingStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomOccupancyIndexTest {
+
+    private RoomOccupancyIndex index;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        index = new RoomOccupancyIndex();
+        base = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @Test
+    void loadedBookingBlocksOverlapOnlyInItsRoom() {
+        index.ensureLoaded(() -> List.of(meeting(1L, base.plusHours(2), base.plusHours(4))));
+
+        assertFalse(index.isFree(1L, base.plusHours(3), base.plusHours(5)));
+        assertTrue(index.isFree(1L, base.plusHours(4), base.plusHours(5))); // touching end is free
+        assertTrue(index.isFree(1L, base, base.plusHours(2)));              // touching start is free
+        assertTrue(index.isFree(2L, base.plusHours(3), base.plusHours(5)));
+    }
+
+    @Test
+    void longEarlierBookingIsFoundBehindShorterLaterOnes() {
+        index.ensureLoaded(List::of);
+        index.apply(10L, RoomBookingStatus.APPROVED, 1L, null, base, base.plusHours(10));
+        index.apply(11L, RoomBookingStatus.APPROVED, 1L, null, base.plusHours(1), base.plusHours(2));
+        index.apply(12L, RoomBookingStatus.CONFIRMED, 1L, null, base.plusHours(3), base.plusHours(4));
+
+        assertFalse(index.isFree(1L, base.plusHours(8), base.plusHours(9)));
+        assertEquals(List.of(10L), index.occupyingBookingIds(1L, base.plusHours(8), base.plusHours(9)));
+    }
+
+    @Test
+    void statusChangeAndRemovalReleaseTheRoom() {
+        index.ensureLoaded(List::of);
+        index.apply(20L, RoomBookingStatus.APPROVED, 1L, null, base, base.plusHours(1));
+        assertFalse(index.isFree(1L, base, base.plusHours(1)));
+
+        index.apply(20L, RoomBookingStatus.REJECTED, 1L, null, base, base.plusHours(1));
+        assertTrue(index.isFree(1L, base, base.plusHours(1)));
+
+        index.apply(21L, RoomBookingStatus.APPROVED, 1L, null, base, base.plusHours(1));
+        index.remove(21L);
+        assertTrue(index.isFree(1L, base, base.plusHours(1)));
+    }
+
+    @Test
+    void reallocationMovesTheBookingBetweenRooms() {
+        index.ensureLoaded(List::of);
+        index.apply(30L, RoomBookingStatus.APPROVED, 1L, null, base, base.plusHours(1));
+        index.apply(30L, RoomBookingStatus.APPROVED, 2L, null, base, base.plusHours(1));
+
+        assertTrue(index.isFree(1L, base, base.plusHours(1)));
+        assertFalse(index.isFree(2L, base, base.plusHours(1)));
+    }
+
+    @Test
+    void rescheduleEventMovesItsWindows() {
+        index.ensureLoaded(List::of);
+        index.apply(40L, RoomBookingStatus.APPROVED, 1L, 7L, base, base.plusHours(1));
+
+        index.rescheduleEvent(7L, base.plusHours(5), base.plusHours(6));
+
+        assertTrue(index.isFree(1L, base, base.plusHours(1)));
+        assertFalse(index.isFree(1L, base.plusHours(5), base.plusHours(6)));
+    }
+
+    @Test
+    void changesBeforeFirstLoadAreLeftToTheLoader() {
+        index.apply(50L, RoomBookingStatus.APPROVED, 1L, null, base, base.plusHours(1));
+        index.ensureLoaded(List::of);
+
+        assertTrue(index.isFree(1L, base, base.plusHours(1)));
+    }
+
+    @Test
+    void callerArrivingDuringLoadWaitsForIt() throws Exception {
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        Thread first = new Thread(() -> index.ensureLoaded(() -> {
+            loaderStarted.countDown();
+            await(releaseLoader);
+            return List.of(meeting(1L, base, base.plusHours(1)));
+        }));
+        first.start();
+        assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+        CountDownLatch secondDone = new CountDownLatch(1);
+        Thread second = new Thread(() -> {
+            index.ensureLoaded(() -> fail("second caller must not load again"));
+            secondDone.countDown();
+        });
+        second.start();
+        assertFalse(secondDone.await(200, TimeUnit.MILLISECONDS));
+
+        releaseLoader.countDown();
+        assertTrue(secondDone.await(5, TimeUnit.SECONDS));
+        first.join(5000);
+        assertFalse(index.isFree(1L, base, base.plusHours(1)));
+    }
+
+    @Test
+    void invalidateDuringLoadDiscardsTheOlderSnapshot() {
+        AtomicInteger reads = new AtomicInteger();
+        index.ensureLoaded(() -> {
+            if (reads.incrementAndGet() == 1) {
+                index.invalidate();
+                return List.of(meeting(1L, base, base.plusHours(1)));
+            }
+            return List.of(meeting(2L, base, base.plusHours(1)));
+        });
+
+        assertEquals(2, reads.get());
+        assertTrue(index.isLoaded());
+        assertTrue(index.isFree(1L, base, base.plusHours(1)));
+        assertFalse(index.isFree(2L, base, base.plusHours(1)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static RoomBookingRequest meeting(Long roomId, LocalDateTime start, LocalDateTime end) {
+        Room room = new Room();
+        room.setId(roomId);
+        RoomBookingRequest r = new RoomBookingRequest();
+        r.setAllocatedRoom(room);
+        r.setMeetingStart(start);
+        r.setMeetingEnd(end);
+        r.setStatus(RoomBookingStatus.APPROVED);
+        return r;
+    }
+}
@@ -0,0 +1,130 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.EventTimeSlot;
+import com.campus.event.domain.FixedTimetable;
+import com.campus.event.domain.Room;
+import com.campus.event.repository.FixedTimetableRepository;
+import com.campus.event.repository.RoomBookingRequestRepository;
+import com.campus.event.repository.RoomRepository;
+import com.campus.event.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleServiceTest {
+
+    @Mock
+    private FixedTimetableRepository fixedTimetableRepository;
+    @Mock
+    private RoomRepository roomRepository;
+    @Mock
+    private RoomBookingRequestRepository bookingRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private BuildingTimetableService buildingTimetableService;
+
+    private ScheduleService scheduleService;
+    private LocalDate monday;
+
+    @BeforeEach
+    void setUp() {
+        scheduleService = new ScheduleService(fixedTimetableRepository, roomRepository, bookingRepository,
+                userRepository, buildingTimetableService, new WeeklyTimetableIndex());
+        monday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    }
+
+    @Test
+    void multiSlotValidationReportsPerDayConflictsFromOneLoad() {
+        LocalDateTime bookedStart = monday.plusDays(1).atTime(10, 0);
+        when(roomRepository.findRoomBuildings(Set.of(1L, 2L))).thenReturn(List.of(roomBuilding(1L), roomBuilding(2L)));
+        when(bookingRepository.findBookedWindows(eq(Set.of(1L, 2L)), any(), any()))
+                .thenReturn(List.of(booked(2L, bookedStart, bookedStart.plusHours(1), "Robotics demo")));
+        when(fixedTimetableRepository.findAllActiveOrderByDayAndTime())
+                .thenReturn(List.of(fixedClass(1L, "CS101", DayOfWeek.MONDAY)));
+        when(buildingTimetableService.isBookingWithinBuildingHours(eq(7L), any(), any())).thenReturn(true);
+
+        List<EventTimeSlot> slots = List.of(
+                slot(monday.atTime(9, 30), monday.atTime(11, 30), 0),
+                slot(monday.plusDays(1).atTime(9, 30), monday.plusDays(1).atTime(11, 30), 1),
+                slot(monday.plusDays(2).atTime(9, 30), monday.plusDays(2).atTime(11, 30), 2));
+
+        Map<String, List<String>> conflicts = scheduleService.validateEventRoomPreferencesMultiSlot(1L, 2L, null, slots);
+
+        assertEquals(List.of("[Day 1] Timetable conflict on MONDAY (" + monday + "): CS101 from 09:00 to 10:00"),
+                conflicts.get("1"));
+        assertEquals(List.of("[Day 2] Booking conflict: Robotics demo"), conflicts.get("2"));
+        verify(roomRepository, times(1)).findRoomBuildings(any());
+        verify(bookingRepository, times(1)).findBookedWindows(any(), any(), any());
+        verify(fixedTimetableRepository, times(1)).findAllActiveOrderByDayAndTime();
+    }
+
+    @Test
+    void multiSlotValidationReportsBookingsBetweenSlotsBecauseTheWholeSpanIsHeld() {
+        LocalDateTime eveningStart = monday.atTime(18, 0);
+        when(roomRepository.findRoomBuildings(Set.of(1L))).thenReturn(List.of(roomBuilding(1L)));
+        when(bookingRepository.findBookedWindows(eq(Set.of(1L)), eq(monday.atTime(9, 30)), eq(monday.plusDays(1).atTime(11, 30))))
+                .thenReturn(List.of(booked(1L, eveningStart, eveningStart.plusHours(2), "Evening seminar")));
+        when(buildingTimetableService.isBookingWithinBuildingHours(eq(7L), any(), any())).thenReturn(true);
+
+        List<EventTimeSlot> slots = List.of(
+                slot(monday.atTime(9, 30), monday.atTime(11, 30), 0),
+                slot(monday.plusDays(1).atTime(9, 30), monday.plusDays(1).atTime(11, 30), 1));
+
+        Map<String, List<String>> conflicts = scheduleService.validateEventRoomPreferencesMultiSlot(1L, null, null, slots);
+
+        assertEquals(List.of("[Between days] Booking conflict: Evening seminar"), conflicts.get("1"));
+    }
+
+    @Test
+    void unknownRoomHasNoConflicts() {
+        when(roomRepository.findRoomBuildings(Set.of(9L))).thenReturn(List.of());
+
+        assertEquals(List.of(), scheduleService.getRoomConflicts(9L, monday.atTime(9, 0), monday.atTime(10, 0)));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    private static RoomRepository.RoomBuilding roomBuilding(Long roomId) {
+        return new RoomRepository.RoomBuilding() {
+            public Long getRoomId() { return roomId; }
+            public Long getBuildingId() { return 7L; }
+        };
+    }
+
+    private static RoomBookingRequestRepository.BookedWindow booked(Long roomId, LocalDateTime start,
+                                                                    LocalDateTime end, String title) {
+        return new RoomBookingRequestRepository.BookedWindow() {
+            public Long getRoomId() { return roomId; }
+            public LocalDateTime getWindowStart() { return start; }
+            public LocalDateTime getWindowEnd() { return end; }
+            public String getTitle() { return title; }
+        };
+    }
+
+    private static FixedTimetable fixedClass(Long roomId, String code, DayOfWeek day) {
+        Room room = new Room();
+        room.setId(roomId);
+        return new FixedTimetable(room, code, code, "A", "1", "2024", null, day,
+                LocalTime.of(9, 0), LocalTime.of(10, 0), "2024-25");
+    }
+
+    private static EventTimeSlot slot(LocalDateTime start, LocalDateTime end, int dayIndex) {
+        return new EventTimeSlot(null, start, end, dayIndex);
+    }
+}
@@ -0,0 +1,91 @@
+package com.campus.event.service;
+
+import com.campus.event.domain.FixedTimetable;
+import com.campus.event.domain.Room;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeeklyTimetableIndexTest {
+
+    private WeeklyTimetableIndex index;
+    private LocalDate monday;
+
+    @BeforeEach
+    void setUp() {
+        index = new WeeklyTimetableIndex();
+        monday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    }
+
+    @Test
+    void classBlocksItsWeekdayOnlyInItsRoom() {
+        Supplier<List<FixedTimetable>> loader = () -> List.of(
+                fixedClass(1L, "CS101", DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(11, 0)));
+
+        assertTrue(index.hasConflict(loader, 1L, monday.atTime(10, 0), monday.atTime(12, 0)));
+        assertFalse(index.hasConflict(loader, 1L, monday.atTime(11, 0), monday.atTime(12, 0))); // touching end is free
+        assertFalse(index.hasConflict(loader, 2L, monday.atTime(10, 0), monday.atTime(12, 0)));
+        assertFalse(index.hasConflict(loader, 1L, monday.plusDays(1).atTime(10, 0), monday.plusDays(1).atTime(12, 0)));
+        assertTrue(index.hasConflict(loader, 1L, monday.plusWeeks(1).atTime(9, 30), monday.plusWeeks(1).atTime(9, 45)));
+    }
+
+    @Test
+    void multiDayWindowListsEveryOccurrenceFromOneLoad() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<FixedTimetable>> loader = () -> {
+            loads.incrementAndGet();
+            return List.of(
+                    fixedClass(1L, "CS102", DayOfWeek.WEDNESDAY, LocalTime.of(14, 0), LocalTime.of(15, 0)),
+                    fixedClass(1L, "CS101", DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(11, 0)));
+        };
+        LocalDateTime start = monday.atTime(10, 0);
+        LocalDateTime end = monday.plusDays(9).atTime(8, 0); // through Wednesday of the next week
+
+        List<WeeklyTimetableIndex.Occurrence> hits = index.conflicts(loader, 1L, start, end);
+        index.hasConflict(loader, 1L, start, end);
+
+        assertEquals(List.of(monday, monday.plusDays(2), monday.plusDays(7)),
+                hits.stream().map(WeeklyTimetableIndex.Occurrence::date).toList());
+        assertEquals(List.of("CS101", "CS102", "CS101"),
+                hits.stream().map(o -> o.slot().courseCode()).toList());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void longEarlierClassIsFoundBehindShorterLaterOnes() {
+        Supplier<List<FixedTimetable>> loader = () -> List.of(
+                fixedClass(1L, "LAB", DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(17, 0)),
+                fixedClass(1L, "CS101", DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+
+        assertTrue(index.hasConflict(loader, 1L, monday.atTime(15, 0), monday.atTime(16, 0)));
+    }
+
+    @Test
+    void inactiveClassesAreIgnoredAndInvalidateReloads() {
+        FixedTimetable cs101 = fixedClass(1L, "CS101", DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(11, 0));
+        Supplier<List<FixedTimetable>> loader = () -> List.of(cs101);
+        assertTrue(index.hasConflict(loader, 1L, monday.atTime(9, 0), monday.atTime(10, 0)));
+
+        cs101.setActive(false);
+        assertTrue(index.hasConflict(loader, 1L, monday.atTime(9, 0), monday.atTime(10, 0))); // still cached
+
+        index.invalidate();
+        assertFalse(index.hasConflict(loader, 1L, monday.atTime(9, 0), monday.atTime(10, 0)));
+    }
+
+    private static FixedTimetable fixedClass(Long roomId, String code, DayOfWeek day, LocalTime start, LocalTime end) {
+        Room room = new Room();
+        room.setId(roomId);
+        return new FixedTimetable(room, code, code, "A", "1", "2024", null, day, start, end, "2024-25");
+    }
+}
@@ -0,0 +1,169 @@
+package com.campus.event.web;
+
+import com.campus.event.domain.Building;
+import com.campus.event.domain.Event;
+import com.campus.event.domain.EventRegistration;
+import com.campus.event.domain.NotificationDelivery;
+import com.campus.event.domain.NotificationMessage;
+import com.campus.event.domain.NotificationOrigin;
+import com.campus.event.domain.Role;
+import com.campus.event.domain.User;
+import com.campus.event.repository.BuildingRepository;
+import com.campus.event.repository.EventRegistrationRepository;
+import com.campus.event.repository.EventRepository;
+import com.campus.event.repository.NotificationDeliveryRepository;
+import com.campus.event.repository.NotificationMessageRepository;
+import com.campus.event.repository.RegistrationRepository;
+import com.campus.event.repository.UserRepository;
+import com.campus.event.security.JwtTokenService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class NotificationControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventRegistrationRepository eventRegistrationRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private NotificationMessageRepository messageRepository;
+
+    @Autowired
+    private NotificationDeliveryRepository deliveryRepository;
+
+    @Autowired
+    private BuildingRepository buildingRepository;
+
+    @Autowired
+    private JwtTokenService jwtTokenService;
+
+    private User member;
+    private String memberToken;
+    private Building building;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        building = buildingRepository.findByCode("AB1")
+                .or(() -> buildingRepository.findByIsActiveTrue().stream().findFirst())
+                .orElseThrow(() -> new IllegalStateException("No seeded building found"));
+        member = new User();
+        member.setUsername("member");
+        member.setPasswordHash("x");
+        member.setEmail("member@test.com");
+        member.setRoles(Set.of(Role.GENERAL_USER));
+        userRepository.save(member);
+        memberToken = generateToken("member", List.of("ROLE_GENERAL_USER"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        deliveryRepository.deleteAll();
+        messageRepository.deleteAll();
+        eventRegistrationRepository.deleteAll();
+        registrationRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void globalInbox_mergesDeliveriesWithMessagesOfRegisteredEvents() throws Exception {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Event registered = event("Registered");
+        Event other = event("Other");
+        EventRegistration reg = new EventRegistration();
+        reg.setEvent(registered);
+        reg.setUser(member);
+        eventRegistrationRepository.save(reg);
+
+        NotificationMessage broadcast = message("Broadcast", null, NotificationOrigin.GLOBAL, now.minusHours(3));
+        NotificationMessage unread = message("Unread", registered, NotificationOrigin.EVENT, now.minusHours(1));
+        NotificationMessage muted = message("Muted", registered, NotificationOrigin.EVENT, now.minusHours(2));
+        message("Not mine", other, NotificationOrigin.EVENT, now);
+        delivery(broadcast, false);
+        delivery(muted, true);
+
+        mockMvc.perform(get("/api/notifications")
+                        .header("Authorization", "Bearer " + memberToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].title").value("Unread"))
+                .andExpect(jsonPath("$[0].deliveryId").value(nullValue()))
+                .andExpect(jsonPath("$[0].muted").value(false))
+                .andExpect(jsonPath("$[1].title").value("Muted"))
+                .andExpect(jsonPath("$[1].muted").value(true))
+                .andExpect(jsonPath("$[2].title").value("Broadcast"))
+                .andExpect(jsonPath("$[2].deliveryId").value(notNullValue()));
+    }
+
+    private Event event(String title) {
+        Event e = new Event();
+        e.setTitle(title);
+        e.setStartTime(LocalDateTime.now().plusDays(10));
+        e.setEndTime(LocalDateTime.now().plusDays(10).plusHours(2));
+        e.setBuilding(building);
+        return eventRepository.save(e);
+    }
+
+    private NotificationMessage message(String title, Event event, NotificationOrigin origin, LocalDateTime createdAt) {
+        NotificationMessage m = new NotificationMessage();
+        m.setTitle(title);
+        m.setMessage(title);
+        m.setOrigin(origin);
+        m.setEvent(event);
+        m.setCreatedAt(createdAt);
+        return messageRepository.save(m);
+    }
+
+    private void delivery(NotificationMessage message, boolean muted) {
+        NotificationDelivery d = new NotificationDelivery();
+        d.setNotification(message);
+        d.setUser(member);
+        d.setMuted(muted);
+        deliveryRepository.save(d);
+    }
+
+    private String generateToken(String username, List<String> roles) {
+        UserDetails userDetails = org.springframework.security.core.userdetails.User.builder()
+                .username(username)
+                .password("dummy")
+                .authorities(roles.stream()
+                        .map(r -> (org.springframework.security.core.GrantedAuthority) () -> r)
+                        .toList())
+                .build();
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("roles", roles);
+        return jwtTokenService.generateToken(claims, userDetails);
+    }
+}
@@ -0,0 +1,78 @@
+package com.campus.event.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublicResponseCacheTest {
+
+    private final PublicResponseCache cache = new PublicResponseCache(new ObjectMapper());
+
+    @Test
+    void secondRequestIsServedFromCacheAndRevalidatesTo304() {
+        AtomicInteger loads = new AtomicInteger();
+        ResponseEntity<byte[]> first = cache.respond("buildings", null, () -> {
+            loads.incrementAndGet();
+            return List.of("A", "B");
+        });
+        String etag = first.getHeaders().getETag();
+        assertNotNull(etag);
+
+        ResponseEntity<byte[]> second = cache.respond("buildings", etag, () -> {
+            loads.incrementAndGet();
+            return List.of("A", "B");
+        });
+
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidationReloadsAndChangesTheEtag() {
+        String etag = cache.respond("event:1", null, () -> List.of("old")).getHeaders().getETag();
+
+        cache.invalidate(PublicResponseCache.eventKey(1L));
+        ResponseEntity<byte[]> fresh = cache.respond("event:1", etag, () -> List.of("new"));
+
+        assertEquals(HttpStatus.OK, fresh.getStatusCode());
+        assertNotEquals(etag, fresh.getHeaders().getETag());
+    }
+
+    @Test
+    void missingResourceIsNotCached() {
+        assertEquals(HttpStatus.NOT_FOUND, cache.respond("event:9", null, () -> null).getStatusCode());
+        assertEquals(HttpStatus.OK, cache.respond("event:9", null, () -> List.of("now exists")).getStatusCode());
+    }
+
+    @Test
+    void fullCacheEvictsTheLeastRecentlyUsedKey() {
+        cache.respond("event:0", null, () -> List.of("first"));
+        cache.respond("buildings", null, () -> List.of("kept"));
+        for (int i = 1; i < PublicResponseCache.MAX_ENTRIES; i++) {
+            cache.respond("event:" + i, null, () -> List.of("filler"));
+            if (i % 100 == 0) cache.respond("buildings", null, () -> fail("hot key must stay cached"));
+        }
+
+        AtomicInteger loads = new AtomicInteger();
+        cache.respond("event:0", null, () -> {
+            loads.incrementAndGet();
+            return List.of("reloaded");
+        });
+        cache.respond("buildings", null, () -> fail("hot key must stay cached"));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void weakAndListedValidatorsMatch() {
+        assertTrue(PublicResponseCache.matches("W/\"abc\"", "\"abc\""));
+        assertTrue(PublicResponseCache.matches("\"x\", \"abc\"", "\"abc\""));
+        assertFalse(PublicResponseCache.matches("\"x\"", "\"abc\""));
+    }
+}
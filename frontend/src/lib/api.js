@@ -48,6 +48,9 @@ export const postEventNotification = (eventId, body) => api.post(`/api/notificat
 export const fetchEventNotifications = (eventId) => api.get(`/api/notifications/events/${eventId}`)
 export const markDeliveryRead = (deliveryId) => api.post(`/api/notifications/deliveries/${deliveryId}/mark-read`)
 export const muteDelivery = (deliveryId, mute) => api.post(`/api/notifications/deliveries/${deliveryId}/mute`, { mute })
+// By message id: event messages have no delivery until the user first reads or mutes them
+export const markMessageRead = (notificationId) => api.post(`/api/notifications/messages/${notificationId}/mark-read`)
+export const muteMessage = (notificationId, mute) => api.post(`/api/notifications/messages/${notificationId}/mute`, { mute })
 
 // Threads
 export const createThread = (body) => api.post('/api/notifications/threads', body)
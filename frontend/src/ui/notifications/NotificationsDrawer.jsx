@@ -1,5 +1,5 @@
 import React, { useEffect, useRef, useState } from 'react'
-import { fetchInbox, markDeliveryRead, muteDelivery, createThread } from '../../lib/api'
+import { fetchInbox, markMessageRead, muteMessage, createThread } from '../../lib/api'
 import NotificationCard from './NotificationCard'
 import useClickOutside from '../useClickOutside'
 
@@ -31,8 +31,8 @@ export default function NotificationsDrawer({ open, onClose }) {
 
   const handleMarkRead = async (item) => {
     try {
-      await markDeliveryRead(item.deliveryId)
-      setItems(prev => prev.map(i => i.deliveryId === item.deliveryId ? { ...i, read: true } : i))
+      await markMessageRead(item.id)
+      setItems(prev => prev.map(i => i.id === item.id ? { ...i, read: true } : i))
       window.dispatchEvent(new Event('notifications-updated'))
     } catch (err) {
       console.error(err)
@@ -41,8 +41,8 @@ export default function NotificationsDrawer({ open, onClose }) {
 
   const handleMute = async (item) => {
     try {
-      await muteDelivery(item.deliveryId, !item.muted)
-      setItems(prev => prev.map(i => i.deliveryId === item.deliveryId ? { ...i, muted: !i.muted } : i))
+      await muteMessage(item.id, !item.muted)
+      setItems(prev => prev.map(i => i.id === item.id ? { ...i, muted: !i.muted } : i))
     } catch (err) { console.error(err) }
   }
 
@@ -73,7 +73,7 @@ export default function NotificationsDrawer({ open, onClose }) {
           <button className="btn btn-sm btn-ghost" onClick={async () => {
             // mark all as read client-side
             const unread = items.filter(i => !i.read)
-            await Promise.all(unread.map(i => markDeliveryRead(i.deliveryId).catch(()=>{})))
+            await Promise.all(unread.map(i => markMessageRead(i.id).catch(()=>{})))
             setItems(prev => prev.map(x => ({ ...x, read: true })))
             window.dispatchEvent(new Event('notifications-updated'))
           }} aria-label="Mark all as read">Mark all</button>
@@ -103,7 +103,7 @@ export default function NotificationsDrawer({ open, onClose }) {
           <div className="text-sm text-[#9CA3AF]">No notifications</div>
         ) : (
           items.map(i => (
-            <NotificationCard key={i.deliveryId} item={i} onOpen={() => {}} onMarkRead={handleMarkRead} onReply={handleReply} onMute={handleMute} />
+            <NotificationCard key={i.id} item={i} onOpen={() => {}} onMarkRead={handleMarkRead} onReply={handleReply} onMute={handleMute} />
           ))
         )}
       </div>
@@ -93,7 +93,7 @@ export default function EventNotificationsPanel({ eventId, canView, canPost }) {
       {items.length === 0 && <div className="text-sm text-[#9CA3AF]">No notifications for this event.</div>}
       <div className="space-y-3">
         {items.map(it => (
-          <div key={it.deliveryId} className="p-3 border border-[#1F2937] rounded-lg bg-[#0F172A] fade-in-up interactive">
+          <div key={it.id} className="p-3 border border-[#1F2937] rounded-lg bg-[#0F172A] fade-in-up interactive">
             <div className="flex justify-between items-start">
               <div>
                 <div className="font-semibold text-[#E5E7EB]">{it.title}</div>
@@ -1,6 +1,6 @@
 import React, { useEffect, useMemo, useState } from 'react'
 import { useNavigate } from 'react-router-dom'
-import { createThread, fetchInbox, markDeliveryRead, muteDelivery } from '../lib/api'
+import { createThread, fetchInbox, markMessageRead, muteMessage } from '../lib/api'
 import { showToast } from '../lib/toast'
 
 export default function NotificationsPage() {
@@ -34,7 +34,7 @@ export default function NotificationsPage() {
     if (loading) return
     const unread = (items || []).filter(i => !i.read)
     if (unread.length === 0) return
-    Promise.all(unread.map(i => markDeliveryRead(i.deliveryId).catch(() => {}))).then(() => {
+    Promise.all(unread.map(i => markMessageRead(i.id).catch(() => {}))).then(() => {
       setItems(prev => prev.map(x => ({ ...x, read: true })))
       window.dispatchEvent(new Event('notifications-updated'))
     })
@@ -67,20 +67,20 @@ export default function NotificationsPage() {
   }
 
   const onMarkRead = async (item) => {
-    if (!item?.deliveryId) return
+    if (!item?.id) return
     try {
-      await markDeliveryRead(item.deliveryId)
-      setItems(prev => prev.map(i => i.deliveryId === item.deliveryId ? { ...i, read: true } : i))
+      await markMessageRead(item.id)
+      setItems(prev => prev.map(i => i.id === item.id ? { ...i, read: true } : i))
     } catch (e) {
       console.error(e)
     }
   }
 
   const onMute = async (item) => {
-    if (!item?.deliveryId) return
+    if (!item?.id) return
     try {
-      await muteDelivery(item.deliveryId, !item.muted)
-      setItems(prev => prev.map(i => i.deliveryId === item.deliveryId ? { ...i, muted: !i.muted } : i))
+      await muteMessage(item.id, !item.muted)
+      setItems(prev => prev.map(i => i.id === item.id ? { ...i, muted: !i.muted } : i))
     } catch (e) {
       console.error(e)
     }
@@ -99,7 +99,7 @@ export default function NotificationsPage() {
           <button className="btn btn-secondary btn-sm" onClick={load} disabled={loading}>Refresh</button>
           <button className="btn btn-secondary btn-sm" onClick={async () => {
             const unread = (items || []).filter(i => !i.read)
-            await Promise.all(unread.map(i => markDeliveryRead(i.deliveryId).catch(() => {})))
+            await Promise.all(unread.map(i => markMessageRead(i.id).catch(() => {})))
             setItems(prev => prev.map(x => ({ ...x, read: true })))
             window.dispatchEvent(new Event('notifications-updated'))
           }} disabled={loading || unreadCount === 0}>Mark all read</button>
@@ -124,7 +124,7 @@ export default function NotificationsPage() {
       ) : (
         <div className="space-y-3">
           {filtered.map(item => (
-            <div key={item.deliveryId} className={`card card-compact interactive ${!item.read ? 'border border-indigo-100' : ''}`}>
+            <div key={item.id} className={`card card-compact interactive ${!item.read ? 'border border-indigo-100' : ''}`}>
               <div className="flex items-start justify-between gap-4">
                 <div className="flex-1">
                   <div className="flex items-center gap-2">